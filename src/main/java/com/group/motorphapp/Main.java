@@ -5,6 +5,7 @@
 package com.group.motorphapp;
 
 
+import com.group.motorphapp.model.Employee;
 import com.group.motorphapp.model.PayrollSystem;
 import com.group.motorphapp.gui.EmployeeListView;
 import com.group.motorphapp.gui.EmployeeManagementPanel;
@@ -12,6 +13,9 @@ import com.group.motorphapp.gui.EmployeeManagementPanel;
 import javax.swing.UIManager;
 import javax.swing.SwingUtilities;
 import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
+import java.util.List;
 
 public class Main {
     public static void main(String[] args) {
@@ -21,21 +25,89 @@ public class Main {
             e.printStackTrace();
         }
 
-        // Create PayrollSystem which will load data in its constructor
-        PayrollSystem payrollSystem = new PayrollSystem();
-
-        // Check if data was loaded
-        System.out.println("Loaded " + payrollSystem.getAllEmployees().size() + " employees");
-        System.out.println("Loaded " + payrollSystem.getTimeLogs().size() + " time logs");
+        // Create an empty PayrollSystem; the data files are read once the window is up
+        PayrollSystem payrollSystem = new PayrollSystem(false);
 
         // Initialize and show the GUI using SwingUtilities
         SwingUtilities.invokeLater(() -> {
             EmployeeListView employeeListView = new EmployeeListView();
             employeeListView.setPayrollSystem(payrollSystem);
             employeeListView.setVisible(true);
+            loadInBackground(payrollSystem, employeeListView);
         });
     }
 
+    // Reads employees and attendance on two workers at once. Employees are listed as soon
+    // as they are parsed; the progress bar then follows the much larger attendance file.
+    private static void loadInBackground(PayrollSystem payrollSystem, EmployeeListView employeeListView) {
+        int[] workersLeft = {2};
+        boolean[] employeesLoaded = {false};
+        int[] attendancePercent = {0};
+        employeeListView.showLoadProgress("Loading employees", -1);
+
+        new SwingWorker<List<Employee>, Void>() {
+            @Override
+            protected List<Employee> doInBackground() {
+                return payrollSystem.readEmployees();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    payrollSystem.setEmployees(get());
+                    employeeListView.refreshEmployeeTable();
+                    System.out.println("Loaded " + payrollSystem.getAllEmployees().size() + " employees");
+                } catch (Exception e) {
+                    reportLoadFailure(employeeListView, "employee data", e);
+                }
+                employeesLoaded[0] = true;
+                if (--workersLeft[0] > 0) {
+                    employeeListView.showLoadProgress("Loading attendance", attendancePercent[0]);
+                } else {
+                    employeeListView.hideLoadProgress();
+                }
+            }
+        }.execute();
+
+        new SwingWorker<PayrollSystem.LoadedAttendance, Integer>() {
+            @Override
+            protected PayrollSystem.LoadedAttendance doInBackground() {
+                return payrollSystem.readAttendance(this::publish);
+            }
+
+            @Override
+            protected void process(List<Integer> chunks) {
+                attendancePercent[0] = chunks.get(chunks.size() - 1);
+                if (employeesLoaded[0]) {
+                    employeeListView.showLoadProgress("Loading attendance", attendancePercent[0]);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    payrollSystem.setAttendance(get());
+                    System.out.println("Loaded " + payrollSystem.getTimeLogCount() + " time logs");
+                } catch (Exception e) {
+                    reportLoadFailure(employeeListView, "attendance records", e);
+                }
+                if (--workersLeft[0] == 0) {
+                    employeeListView.hideLoadProgress();
+                }
+            }
+        }.execute();
+    }
+
+    private static void reportLoadFailure(EmployeeListView employeeListView, String what, Exception e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        System.err.println("Error loading " + what + ": " + cause.getMessage());
+        cause.printStackTrace();
+        JOptionPane.showMessageDialog(employeeListView,
+                "Could not load " + what + ": " + cause.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
     // Change to include PayrollSystem parameter
     public static void showEmployeeManagementPanel(PayrollSystem payrollSystem) {
         EmployeeManagementPanel panel = new EmployeeManagementPanel();
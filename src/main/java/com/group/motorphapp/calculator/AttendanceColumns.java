@@ -0,0 +1,85 @@
+package com.group.motorphapp.calculator;
+
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollSystem;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One pay period of complete punches laid out as parallel int arrays:
+ * the employee's slot in the roster and the second of day of time in and
+ * time out. Rows of an employee are contiguous and in date order.
+ * build reads the punches straight from the attendance store as ints, so
+ * no TimeLog objects are created along the way.
+ */
+public class AttendanceColumns {
+    private int[] employeeSlots;
+    private int[] secondIn;
+    private int[] secondOut;
+    private int rowCount;
+    private final int employeeCount;
+
+    public AttendanceColumns(int employeeCount, int initialRows) {
+        this.employeeCount = employeeCount;
+        this.employeeSlots = new int[Math.max(initialRows, 16)];
+        this.secondIn = new int[employeeSlots.length];
+        this.secondOut = new int[employeeSlots.length];
+    }
+
+    /**
+     * Gathers the punches of a list of employees for a pay period
+     * @param employees The roster; an employee's slot is their index in this list
+     * @param payrollSystem The source of time logs
+     * @param payPeriod The pay period to gather
+     * @return The columns, with punches missing a time in or out left out
+     */
+    public static AttendanceColumns build(List<Employee> employees, PayrollSystem payrollSystem, PayPeriod payPeriod) {
+        AttendanceColumns columns = new AttendanceColumns(employees.size(), employees.size() * 22);
+        for (int slot = 0; slot < employees.size(); slot++) {
+            int employeeSlot = slot;
+            payrollSystem.forEachPunch(employees.get(slot).getEmployeeNumber(),
+                    payPeriod.getStartDate(), payPeriod.getEndDate(), (in, out) -> {
+                        if (in >= 0 && out >= 0) {
+                            columns.add(employeeSlot, in, out);
+                        }
+                    });
+        }
+        return columns;
+    }
+
+    // Appends one punch; rows of the same employee must be added together
+    public void add(int employeeSlot, int secondOfDayIn, int secondOfDayOut) {
+        if (rowCount == employeeSlots.length) {
+            int newLength = rowCount * 2;
+            employeeSlots = Arrays.copyOf(employeeSlots, newLength);
+            secondIn = Arrays.copyOf(secondIn, newLength);
+            secondOut = Arrays.copyOf(secondOut, newLength);
+        }
+        employeeSlots[rowCount] = employeeSlot;
+        secondIn[rowCount] = secondOfDayIn;
+        secondOut[rowCount] = secondOfDayOut;
+        rowCount++;
+    }
+
+    public int[] getEmployeeSlots() {
+        return employeeSlots;
+    }
+
+    public int[] getSecondIn() {
+        return secondIn;
+    }
+
+    public int[] getSecondOut() {
+        return secondOut;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+}
@@ -2,9 +2,6 @@ package com.group.motorphapp.calculator;
 
 import com.group.motorphapp.model.Employee;
 import com.group.motorphapp.model.TimeLog;
-import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -12,95 +9,72 @@ public class BasicPayCalculator {
     private static final double HOURLY_RATE = 107.14; // P15,000 / 140 hours monthly (Assuming 35 hours per week)
     private static final double OVERTIME_MULTIPLIER = 1.25;
     private static final double NIGHT_DIFF_MULTIPLIER = 1.1;
-    private static final LocalTime NIGHT_DIFF_START = LocalTime.of(22, 0); // 10:00 PM
-    private static final LocalTime NIGHT_DIFF_END = LocalTime.of(6, 0);    // 6:00 AM
+
+    // Times are handled as seconds from midnight of the log's date
+    static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    static final int NIGHT_DIFF_START = 22 * 60 * 60;                 // 10:00 PM
+    static final int NIGHT_DIFF_END = SECONDS_PER_DAY + 6 * 60 * 60;  // 6:00 AM the next day
 
     public double calculateBasicPay(Employee employee,
                                     List<TimeLog> timeLogs) {
         double totalPay = 0.0;
 
         for (TimeLog log : timeLogs) {
-            if (log.getTimeIn() != null && log.getTimeOut() != null) {
-                // Calculate regular hours and pay
-                double hoursWorked = calculateHoursWorked(log);
-                double regularPay = calculateRegularPay(hoursWorked);
-
-                // Calculate overtime pay if applicable
-                double overtimePay = calculateOvertimePay(hoursWorked);
-
-                // Calculate night differential pay if applicable
-                double nightDiffPay = calculateNightDifferentialPay(log);
-
-                // Add all components for this day
-                totalPay += regularPay + overtimePay + nightDiffPay;
+            LocalTime timeIn = log.getTimeIn();
+            LocalTime timeOut = log.getTimeOut();
+            if (timeIn != null && timeOut != null) {
+                // Regular, overtime and night differential pay for this day
+                totalPay += calculateDailyPay(timeIn.toSecondOfDay(), timeOut.toSecondOfDay());
             }
         }
 
         return totalPay;
     }
 
-    private double calculateHoursWorked(TimeLog log) {
-        // Convert LocalTime to LocalDateTime to calculate duration correctly
-        LocalDate date = log.getDate();
-        LocalDateTime timeIn = LocalDateTime.of(date, log.getTimeIn());
-
-        // Handle case when time-out is on the next day
-        LocalDateTime timeOut;
-        if (log.getTimeOut().isBefore(log.getTimeIn())) {
-            timeOut = LocalDateTime.of(date.plusDays(1), log.getTimeOut());
-        } else {
-            timeOut = LocalDateTime.of(date, log.getTimeOut());
-        }
-
-        Duration duration = Duration.between(timeIn, timeOut);
-        return duration.toMinutes() / 60.0; // Convert minutes to hours
+    /**
+     * Computes one day's pay from its punches
+     * @param timeInSeconds Time in, as seconds from midnight
+     * @param timeOutSeconds Time out, as seconds from midnight; earlier than time in means the next day
+     * @return Regular plus overtime plus night differential pay
+     */
+    static double calculateDailyPay(int timeInSeconds, int timeOutSeconds) {
+        int timeOut = endOfShift(timeInSeconds, timeOutSeconds);
+        return calculateDailyPayForMinutes(workedMinutes(timeInSeconds, timeOut),
+                nightDiffMinutes(timeInSeconds, timeOut));
     }
 
-    private double calculateRegularPay(double hoursWorked) {
-        // Cap regular hours at 8
-        double regularHours = Math.min(hoursWorked, 8.0);
-        return regularHours * HOURLY_RATE;
-    }
+    /**
+     * Turns worked and night differential minutes into pay
+     * @param workedMinutes Whole minutes between time in and time out
+     * @param nightDiffMinutes Whole minutes worked between 10:00 PM and 6:00 AM
+     * @return Regular plus overtime plus night differential pay
+     */
+    static double calculateDailyPayForMinutes(int workedMinutes, int nightDiffMinutes) {
+        double hoursWorked = workedMinutes / 60.0;
 
-    private double calculateOvertimePay(double hoursWorked) {
-        // Calculate overtime hours (anything beyond 8 hours)
-        double overtimeHours = Math.max(0, hoursWorked - 8.0);
-        return overtimeHours * HOURLY_RATE * OVERTIME_MULTIPLIER;
-    }
+        // Cap regular hours at 8; anything beyond is overtime
+        double regularPay = Math.min(hoursWorked, 8.0) * HOURLY_RATE;
+        double overtimePay = Math.max(0, hoursWorked - 8.0) * HOURLY_RATE * OVERTIME_MULTIPLIER;
 
-    private double calculateNightDifferentialPay(TimeLog log) {
-        double nightDiffPay = 0.0;
+        double nightDiffHours = nightDiffMinutes / 60.0;
+        double nightDiffPay = nightDiffHours * HOURLY_RATE * (NIGHT_DIFF_MULTIPLIER - 1.0);
 
-        // Convert to LocalDateTime for proper calculations
-        LocalDate date = log.getDate();
-        LocalDateTime timeIn = LocalDateTime.of(date, log.getTimeIn());
-
-        // Handle case when time-out is on the next day
-        LocalDateTime timeOut;
-        if (log.getTimeOut().isBefore(log.getTimeIn())) {
-            timeOut = LocalDateTime.of(date.plusDays(1), log.getTimeOut());
-        } else {
-            timeOut = LocalDateTime.of(date, log.getTimeOut());
-        }
-
-        // Create night differential start and end times
-        LocalDateTime nightStart = LocalDateTime.of(date, NIGHT_DIFF_START);
-        LocalDateTime nightEnd = LocalDateTime.of(date.plusDays(1), NIGHT_DIFF_END);
-
-        // Check if work hours overlap with night differential hours
-        if (timeIn.isBefore(nightEnd) && timeOut.isAfter(nightStart)) {
-            // Calculate overlap
-            LocalDateTime overlapStart = timeIn.isAfter(nightStart) ? timeIn : nightStart;
-            LocalDateTime overlapEnd = timeOut.isBefore(nightEnd) ? timeOut : nightEnd;
+        return regularPay + overtimePay + nightDiffPay;
+    }
 
-            // Calculate hours during night differential period
-            Duration nightDiffDuration = Duration.between(overlapStart, overlapEnd);
-            double nightDiffHours = nightDiffDuration.toMinutes() / 60.0;
+    // Handle case when time-out is on the next day
+    static int endOfShift(int timeInSeconds, int timeOutSeconds) {
+        return timeOutSeconds < timeInSeconds ? timeOutSeconds + SECONDS_PER_DAY : timeOutSeconds;
+    }
 
-            // Calculate night differential pay
-            nightDiffPay = nightDiffHours * HOURLY_RATE * (NIGHT_DIFF_MULTIPLIER - 1.0);
-        }
+    // Whole minutes worked; timeOut already includes the midnight wrap
+    static int workedMinutes(int timeInSeconds, int timeOut) {
+        return (timeOut - timeInSeconds) / 60;
+    }
 
-        return nightDiffPay;
+    // Whole minutes inside the night differential window of the log's date
+    static int nightDiffMinutes(int timeInSeconds, int timeOut) {
+        int overlap = Math.min(timeOut, NIGHT_DIFF_END) - Math.max(timeInSeconds, NIGHT_DIFF_START);
+        return Math.max(0, overlap) / 60;
     }
-}
\ No newline at end of file
+}
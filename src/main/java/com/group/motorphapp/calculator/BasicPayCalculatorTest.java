@@ -0,0 +1,113 @@
+package com.group.motorphapp.calculator;
+
+import com.group.motorphapp.datamanager.EmployeeDataManager;
+import com.group.motorphapp.model.TimeLog;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Checks the integer daily pay of BasicPayCalculator against the java.time
+ * computation it replaced, for every time log in attendance-record.csv and
+ * for every pair of times in and out on a 5-minute grid. Any difference is
+ * printed and the check exits with status 1.
+ */
+public class BasicPayCalculatorTest {
+    private static final double HOURLY_RATE = 107.14;
+    private static final double OVERTIME_MULTIPLIER = 1.25;
+    private static final double NIGHT_DIFF_MULTIPLIER = 1.1;
+    private static final LocalTime NIGHT_DIFF_START = LocalTime.of(22, 0);
+    private static final LocalTime NIGHT_DIFF_END = LocalTime.of(6, 0);
+    // Any date will do; the old computation only used it to build LocalDateTimes
+    private static final LocalDate GRID_DATE = LocalDate.of(2024, 6, 3);
+    private static final int MAX_MISMATCHES_SHOWN = 20;
+
+    private static int mismatches = 0;
+
+    public static void main(String[] args) {
+        System.out.println("Starting basic pay differential check");
+
+        EmployeeDataManager manager = new EmployeeDataManager();
+        List<TimeLog> timeLogs = manager.getTimeLogs();
+        int fileChecked = 0;
+        for (TimeLog log : timeLogs) {
+            if (log.getTimeIn() != null && log.getTimeOut() != null) {
+                check(log);
+                fileChecked++;
+            }
+        }
+        System.out.println("Checked " + fileChecked + " time logs from the attendance file");
+
+        int gridChecked = 0;
+        for (int in = 0; in < BasicPayCalculator.SECONDS_PER_DAY; in += 5 * 60) {
+            for (int out = 0; out < BasicPayCalculator.SECONDS_PER_DAY; out += 5 * 60) {
+                check(new TimeLog("grid", GRID_DATE, LocalTime.ofSecondOfDay(in), LocalTime.ofSecondOfDay(out)));
+                gridChecked++;
+            }
+        }
+        System.out.println("Checked " + gridChecked + " time in and time out pairs on the grid");
+
+        if (mismatches > 0) {
+            System.out.println("FAILED: " + mismatches + " mismatches");
+            System.exit(1);
+        }
+        System.out.println("Test completed: no mismatches");
+    }
+
+    private static void check(TimeLog log) {
+        double expected = oldDailyPay(log);
+        double actual = BasicPayCalculator.calculateDailyPay(log.getTimeIn().toSecondOfDay(),
+                log.getTimeOut().toSecondOfDay());
+        if (Double.compare(expected, actual) != 0) {
+            mismatches++;
+            if (mismatches <= MAX_MISMATCHES_SHOWN) {
+                System.out.println("Mismatch for " + log.getEmployeeNumber() + " " + log.getDate() + " "
+                        + log.getTimeIn() + "-" + log.getTimeOut() + ": java.time " + expected
+                        + ", integer " + actual);
+            }
+        }
+    }
+
+    // The java.time computation as it stood before the integer rewrite, for one day
+    private static double oldDailyPay(TimeLog log) {
+        double hoursWorked = oldHoursWorked(log);
+        double regularPay = Math.min(hoursWorked, 8.0) * HOURLY_RATE;
+        double overtimePay = Math.max(0, hoursWorked - 8.0) * HOURLY_RATE * OVERTIME_MULTIPLIER;
+        return regularPay + overtimePay + oldNightDifferentialPay(log);
+    }
+
+    private static double oldHoursWorked(TimeLog log) {
+        LocalDate date = log.getDate();
+        LocalDateTime timeIn = LocalDateTime.of(date, log.getTimeIn());
+        LocalDateTime timeOut = oldTimeOut(log);
+        return Duration.between(timeIn, timeOut).toMinutes() / 60.0;
+    }
+
+    private static double oldNightDifferentialPay(TimeLog log) {
+        LocalDate date = log.getDate();
+        LocalDateTime timeIn = LocalDateTime.of(date, log.getTimeIn());
+        LocalDateTime timeOut = oldTimeOut(log);
+        LocalDateTime nightStart = LocalDateTime.of(date, NIGHT_DIFF_START);
+        LocalDateTime nightEnd = LocalDateTime.of(date.plusDays(1), NIGHT_DIFF_END);
+
+        if (timeIn.isBefore(nightEnd) && timeOut.isAfter(nightStart)) {
+            LocalDateTime overlapStart = timeIn.isAfter(nightStart) ? timeIn : nightStart;
+            LocalDateTime overlapEnd = timeOut.isBefore(nightEnd) ? timeOut : nightEnd;
+            double nightDiffHours = Duration.between(overlapStart, overlapEnd).toMinutes() / 60.0;
+            return nightDiffHours * HOURLY_RATE * (NIGHT_DIFF_MULTIPLIER - 1.0);
+        }
+        return 0.0;
+    }
+
+    // Time out earlier than time in is on the next day
+    private static LocalDateTime oldTimeOut(TimeLog log) {
+        LocalDate date = log.getDate();
+        if (log.getTimeOut().isBefore(log.getTimeIn())) {
+            return LocalDateTime.of(date.plusDays(1), log.getTimeOut());
+        }
+        return LocalDateTime.of(date, log.getTimeOut());
+    }
+}
@@ -0,0 +1,243 @@
+package com.group.motorphapp.calculator;
+
+import com.group.motorphapp.model.PayPeriod;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Effective-dated PhilHealth and Pag-IBIG rules read from deduction-rules.csv.
+ * Every row is one contribution's rule from an effective date on; a rule
+ * stays in force until a later row for the same contribution replaces it.
+ * The loaded rule sets are swapped in as a whole, so a reload while payroll
+ * is running never mixes old and new rules inside one rule set. If the file
+ * cannot be read on first load, the built-in 2020 rules are used instead;
+ * contributions never silently drop to zero.
+ */
+public class DeductionRuleRegistry {
+    private static final String USER_DIR = System.getProperty("user.dir");
+    public static final String DEDUCTION_RULES_FILE = USER_DIR + "/src/main/java/com/group/motorphapp/Resources/deduction-rules.csv";
+
+    private static final String PHILHEALTH = "PHILHEALTH";
+    private static final String PAGIBIG = "PAGIBIG";
+
+    // 3% PhilHealth capped at 1,800; 2% Pag-IBIG (1% at or below 1,500) capped at 100
+    private static final DeductionRuleSet BUILT_IN = new DeductionRuleSet("built-in", LocalDate.MIN,
+            compile("RATE", 0.03, Double.NaN, Double.NaN, 1800.00),
+            compile("THRESHOLD_RATE", 0.02, 1500.00, 0.01, 100.00));
+
+    // reloadIfDue checks the files on disk at most this often
+    public static final long RELOAD_CHECK_INTERVAL_MILLIS = 2000;
+
+    private static final Object LOCK = new Object();
+    private static volatile NavigableMap<LocalDate, DeductionRuleSet> ruleSets;
+    private static volatile long loadedModified;
+    // The rule file text behind ruleSets, or "built-in"
+    private static volatile String fingerprint = "built-in";
+    // When reloadIfDue last looked at the files, from System.nanoTime
+    private static volatile long lastCheckNanos;
+    private static volatile boolean checked;
+
+    private DeductionRuleRegistry() {
+    }
+
+    /**
+     * Gets the rules in force on a date
+     * @param date The date to look up
+     * @return The latest rule set effective on or before the date, the earliest one for older dates,
+     *         or the built-in rules if the file holds none
+     */
+    public static DeductionRuleSet forDate(LocalDate date) {
+        NavigableMap<LocalDate, DeductionRuleSet> sets = getRuleSets();
+        if (sets.isEmpty()) {
+            return BUILT_IN;
+        }
+        Map.Entry<LocalDate, DeductionRuleSet> entry = sets.floorEntry(date);
+        return entry != null ? entry.getValue() : sets.firstEntry().getValue();
+    }
+
+    /**
+     * Gets the rules for a pay period
+     * @param payPeriod The pay period
+     * @return The rule set in force on the first day of the period
+     */
+    public static DeductionRuleSet forPeriod(PayPeriod payPeriod) {
+        return forDate(payPeriod.getStartDate());
+    }
+
+    // Every loaded rule set by effective date
+    public static NavigableMap<LocalDate, DeductionRuleSet> getRuleSets() {
+        NavigableMap<LocalDate, DeductionRuleSet> sets = ruleSets;
+        if (sets == null) {
+            synchronized (LOCK) {
+                if (ruleSets == null) {
+                    reload();
+                }
+                sets = ruleSets;
+            }
+        }
+        return sets;
+    }
+
+    /**
+     * Re-reads the rule file and swaps the new rules in. If the file cannot
+     * be read the rules already loaded stay in force, or the built-in rules
+     * if none were loaded yet; the same file is not retried until it changes.
+     * @return true if new rules were loaded
+     */
+    public static boolean reload() {
+        String path = RateTableEngine.resolve(DEDUCTION_RULES_FILE);
+        long modified = new File(path).lastModified();
+        StringBuilder content = new StringBuilder();
+        NavigableMap<LocalDate, DeductionRuleSet> loaded = load(path, content);
+
+        synchronized (LOCK) {
+            loadedModified = modified;
+            if (loaded == null) {
+                if (ruleSets == null) {
+                    System.err.println("WARNING: Deduction rules could not be loaded from " + path
+                            + "; using the built-in PhilHealth and Pag-IBIG rules");
+                    ruleSets = Collections.unmodifiableNavigableMap(new TreeMap<>(Map.of(LocalDate.MIN, BUILT_IN)));
+                }
+                return false;
+            }
+            ruleSets = loaded;
+            fingerprint = content.toString();
+            // Lets cached payroll results computed with the old rules expire
+            RateTableEngine.markChanged();
+        }
+        return true;
+    }
+
+    /**
+     * Reloads the rule file, and the SSS and tax rate files, if they changed
+     * on disk since they were last read
+     * @return true if new rules or rate tables were loaded
+     */
+    public static boolean reloadIfModified() {
+        boolean ratesLoaded = RateTableEngine.reloadIfModified();
+        getRuleSets();
+        long modified = new File(RateTableEngine.resolve(DEDUCTION_RULES_FILE)).lastModified();
+        return (modified != loadedModified && reload()) || ratesLoaded;
+    }
+
+    /**
+     * Reloads changed rule and rate files like reloadIfModified, but looks at
+     * the files at most once every RELOAD_CHECK_INTERVAL_MILLIS. For callers
+     * that run once per payslip; a batch run calls reloadIfModified once.
+     * @return true if new rules or rate tables were loaded
+     */
+    public static boolean reloadIfDue() {
+        long now = System.nanoTime();
+        if (checked && now - lastCheckNanos < RELOAD_CHECK_INTERVAL_MILLIS * 1_000_000) {
+            return false;
+        }
+        lastCheckNanos = now;
+        checked = true;
+        return reloadIfModified();
+    }
+
+    /**
+     * Identifies the rules in force: equal values mean the same rules were loaded
+     * @return The text of the loaded rule file, or "built-in" for the built-in rules
+     */
+    public static String getFingerprint() {
+        getRuleSets();
+        return fingerprint;
+    }
+
+    // Returns null if the file is missing or has an invalid row; content receives the lines read
+    private static NavigableMap<LocalDate, DeductionRuleSet> load(String path, StringBuilder content) {
+        // Effective date -> contribution -> compiled rule, plus the version label of each date
+        NavigableMap<LocalDate, Map<String, DoubleUnaryOperator>> rulesByDate = new TreeMap<>();
+        Map<LocalDate, String> versions = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            // Skip header line
+            String line = reader.readLine();
+            int lineNumber = 1;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                content.append(line).append('\n');
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] data = line.split(",", -1);
+                if (data.length < 8) {
+                    System.err.println("Invalid deduction rule on line " + lineNumber + ": " + line);
+                    return null;
+                }
+                LocalDate effectiveDate = LocalDate.parse(data[1].trim());
+                String contribution = data[2].trim().toUpperCase();
+                if (!contribution.equals(PHILHEALTH) && !contribution.equals(PAGIBIG)) {
+                    System.err.println("Unknown contribution on line " + lineNumber + ": " + data[2]);
+                    return null;
+                }
+                DoubleUnaryOperator rule = compile(data[3].trim(), parseOptional(data[4]), parseOptional(data[5]),
+                        parseOptional(data[6]), parseOptional(data[7]));
+                rulesByDate.computeIfAbsent(effectiveDate, date -> new HashMap<>()).put(contribution, rule);
+                versions.putIfAbsent(effectiveDate, data[0].trim());
+            }
+        } catch (IOException | DateTimeParseException | IllegalArgumentException e) {
+            System.err.println("Error reading deduction rules: " + e.getMessage());
+            return null;
+        }
+
+        // Carry each contribution's rule forward until a later date replaces it;
+        // a contribution the file never mentions keeps the built-in rule
+        NavigableMap<LocalDate, DeductionRuleSet> sets = new TreeMap<>();
+        DoubleUnaryOperator philhealth = BUILT_IN.getPhilhealthRule();
+        DoubleUnaryOperator pagibig = BUILT_IN.getPagibigRule();
+        for (Map.Entry<LocalDate, Map<String, DoubleUnaryOperator>> entry : rulesByDate.entrySet()) {
+            philhealth = entry.getValue().getOrDefault(PHILHEALTH, philhealth);
+            pagibig = entry.getValue().getOrDefault(PAGIBIG, pagibig);
+            sets.put(entry.getKey(), new DeductionRuleSet(versions.get(entry.getKey()), entry.getKey(), philhealth, pagibig));
+        }
+        return Collections.unmodifiableNavigableMap(sets);
+    }
+
+    /**
+     * Turns one rule row into a function from gross pay to contribution
+     * @param formula RATE (pay times rate) or THRESHOLD_RATE (lower rate at or below the threshold)
+     * @param rate The contribution rate
+     * @param threshold The pay threshold for THRESHOLD_RATE
+     * @param lowerRate The rate at or below the threshold for THRESHOLD_RATE
+     * @param maximum The monthly cap, or NaN for none
+     * @return The compiled rule
+     */
+    public static DoubleUnaryOperator compile(String formula, double rate, double threshold, double lowerRate, double maximum) {
+        if (Double.isNaN(rate)) {
+            throw new IllegalArgumentException("Rate is required");
+        }
+        boolean capped = !Double.isNaN(maximum);
+        switch (formula.toUpperCase()) {
+            case "RATE":
+                return capped ? pay -> Math.min(pay * rate, maximum) : pay -> pay * rate;
+            case "THRESHOLD_RATE":
+                if (Double.isNaN(threshold) || Double.isNaN(lowerRate)) {
+                    throw new IllegalArgumentException("THRESHOLD_RATE needs a threshold and a lower rate");
+                }
+                return capped
+                        ? pay -> Math.min(pay * ((pay > threshold) ? rate : lowerRate), maximum)
+                        : pay -> pay * ((pay > threshold) ? rate : lowerRate);
+            default:
+                throw new IllegalArgumentException("Unknown formula: " + formula);
+        }
+    }
+
+    private static double parseOptional(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? Double.NaN : Double.parseDouble(trimmed);
+    }
+}
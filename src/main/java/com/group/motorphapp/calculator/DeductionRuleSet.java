@@ -0,0 +1,68 @@
+package com.group.motorphapp.calculator;
+
+import java.time.LocalDate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The PhilHealth and Pag-IBIG rules in force from one effective date.
+ * Each rule is compiled into a lambda when the rule file is loaded, so
+ * applying it is a plain method call.
+ */
+public class DeductionRuleSet {
+    private final String version;
+    private final LocalDate effectiveDate;
+    private final DoubleUnaryOperator philhealthRule;
+    private final DoubleUnaryOperator pagibigRule;
+
+    DeductionRuleSet(String version, LocalDate effectiveDate,
+                     DoubleUnaryOperator philhealthRule, DoubleUnaryOperator pagibigRule) {
+        this.version = version;
+        this.effectiveDate = effectiveDate;
+        this.philhealthRule = philhealthRule;
+        this.pagibigRule = pagibigRule;
+    }
+
+    public double calculatePhilhealthContribution(double grossPay) {
+        return philhealthRule.applyAsDouble(grossPay);
+    }
+
+    public double calculatePagibigContribution(double grossPay) {
+        return pagibigRule.applyAsDouble(grossPay);
+    }
+
+    /**
+     * Copies this rule set with some rules replaced, for what-if simulations
+     * @param philhealth The replacement PhilHealth rule, or null to keep this one
+     * @param pagibig The replacement Pag-IBIG rule, or null to keep this one
+     * @return The adjusted rule set
+     */
+    public DeductionRuleSet withRules(DoubleUnaryOperator philhealth, DoubleUnaryOperator pagibig) {
+        if (philhealth == null && pagibig == null) {
+            return this;
+        }
+        return new DeductionRuleSet(version + "+override", effectiveDate,
+                philhealth != null ? philhealth : philhealthRule,
+                pagibig != null ? pagibig : pagibigRule);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    DoubleUnaryOperator getPhilhealthRule() {
+        return philhealthRule;
+    }
+
+    DoubleUnaryOperator getPagibigRule() {
+        return pagibigRule;
+    }
+
+    @Override
+    public String toString() {
+        return "Deduction rules " + version + " effective " + effectiveDate;
+    }
+}
@@ -0,0 +1,75 @@
+package com.group.motorphapp.calculator;
+
+import com.group.motorphapp.model.TimeLog;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the per-object BasicPayCalculator path with GrossPayKernel over
+ * synthetic punches. Optional arguments: employee count, days per employee.
+ */
+public class GrossPayBenchmark {
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int employeeCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 22;
+        System.out.println("Generating " + employeeCount + " employees x " + days + " days of punches");
+
+        List<List<TimeLog>> logsByEmployee = new ArrayList<>(employeeCount);
+        AttendanceColumns columns = new AttendanceColumns(employeeCount, employeeCount * days);
+        Random random = new Random(42);
+        LocalDate firstDay = LocalDate.of(2024, 6, 1);
+
+        for (int e = 0; e < employeeCount; e++) {
+            String employeeNumber = String.valueOf(10001 + e);
+            List<TimeLog> logs = new ArrayList<>(days);
+            for (int d = 0; d < days; d++) {
+                // Mostly day shifts, with some night shifts crossing midnight
+                int minuteIn = random.nextInt(10) == 0 ? 20 * 60 + random.nextInt(180) : 7 * 60 + random.nextInt(120);
+                int minuteOut = (minuteIn + 8 * 60 + random.nextInt(240)) % (24 * 60);
+                LocalTime timeIn = LocalTime.ofSecondOfDay(minuteIn * 60L);
+                LocalTime timeOut = LocalTime.ofSecondOfDay(minuteOut * 60L);
+                logs.add(new TimeLog(employeeNumber, firstDay.plusDays(d), timeIn, timeOut));
+                columns.add(e, minuteIn * 60, minuteOut * 60);
+            }
+            logsByEmployee.add(logs);
+        }
+
+        BasicPayCalculator scalar = new BasicPayCalculator();
+        double[] scalarTotals = new double[employeeCount];
+        double[] kernelTotals = null;
+        long scalarBest = Long.MAX_VALUE;
+        long kernelBest = Long.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int e = 0; e < employeeCount; e++) {
+                scalarTotals[e] = scalar.calculateBasicPay(null, logsByEmployee.get(e));
+            }
+            scalarBest = Math.min(scalarBest, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            kernelTotals = GrossPayKernel.computeGrossPay(columns);
+            kernelBest = Math.min(kernelBest, System.nanoTime() - start);
+        }
+
+        int mismatches = 0;
+        for (int e = 0; e < employeeCount; e++) {
+            if (Double.compare(scalarTotals[e], kernelTotals[e]) != 0) {
+                mismatches++;
+            }
+        }
+
+        System.out.println("Punches: " + columns.getRowCount());
+        System.out.println("Minutes pass: " + (GrossPayKernel.isVectorized() ? "Vector API" : "scalar loop"));
+        System.out.printf("Scalar path: %.2f ms (best of %d)%n", scalarBest / 1_000_000.0, ROUNDS);
+        System.out.printf("Columnar kernel: %.2f ms (best of %d)%n", kernelBest / 1_000_000.0, ROUNDS);
+        System.out.printf("Speedup: %.1fx%n", (double) scalarBest / kernelBest);
+        System.out.println("Totals match: " + (mismatches == 0 ? "YES" : "NO (" + mismatches + " employees differ)"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.group.motorphapp.calculator;
+
+/**
+ * Gross pay over columnar attendance for a whole pay period.
+ * The minutes pass runs on the incubating Vector API when the JVM was
+ * started with --add-modules jdk.incubator.vector, and on a plain scalar
+ * loop otherwise; set -Dmotorph.payroll.vector=false to force the scalar
+ * loop. The daily pay and per-employee sum passes are scalar. The
+ * arithmetic is the same as BasicPayCalculator's, so the per-employee
+ * totals are identical to the per-object path.
+ */
+public final class GrossPayKernel {
+    public static final String VECTOR_PROPERTY = "motorph.payroll.vector";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    // Checked once; the vector class is only loaded when its module is present
+    private static final boolean VECTORIZED = Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+            && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+
+    private GrossPayKernel() {
+    }
+
+    // True if the minutes pass runs on the Vector API
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Computes worked and night differential minutes for every row
+     * @param secondIn Second of day of time in
+     * @param secondOut Second of day of time out; earlier than time in means the next day
+     * @param count Number of rows to process
+     * @param worked Receives the whole minutes worked
+     * @param nightDiff Receives the whole minutes between 10:00 PM and 6:00 AM
+     */
+    public static void computeMinutes(int[] secondIn, int[] secondOut, int count, int[] worked, int[] nightDiff) {
+        if (VECTORIZED) {
+            VectorMinutesKernel.computeMinutes(secondIn, secondOut, count, worked, nightDiff);
+        } else {
+            computeMinutesScalar(secondIn, secondOut, 0, count, worked, nightDiff);
+        }
+    }
+
+    // Scalar minutes pass over rows [from, to); also finishes the tail the vector pass leaves
+    static void computeMinutesScalar(int[] secondIn, int[] secondOut, int from, int to, int[] worked, int[] nightDiff) {
+        for (int i = from; i < to; i++) {
+            int in = secondIn[i];
+            int end = BasicPayCalculator.endOfShift(in, secondOut[i]);
+            worked[i] = BasicPayCalculator.workedMinutes(in, end);
+            nightDiff[i] = BasicPayCalculator.nightDiffMinutes(in, end);
+        }
+    }
+
+    /**
+     * Turns minutes into each row's pay, using BasicPayCalculator's formula
+     * @param worked Minutes worked per row
+     * @param nightDiff Night differential minutes per row
+     * @param count Number of rows to process
+     * @param pay Receives the pay per row
+     */
+    public static void computeDailyPay(int[] worked, int[] nightDiff, int count, double[] pay) {
+        for (int i = 0; i < count; i++) {
+            pay[i] = BasicPayCalculator.calculateDailyPayForMinutes(worked[i], nightDiff[i]);
+        }
+    }
+
+    /**
+     * Adds up row pay per employee in row order
+     * @param employeeSlots The employee slot of each row
+     * @param pay Pay per row
+     * @param count Number of rows to process
+     * @param employeeCount Number of employee slots
+     * @return Total pay per employee slot
+     */
+    public static double[] sumByEmployee(int[] employeeSlots, double[] pay, int count, int employeeCount) {
+        double[] totals = new double[employeeCount];
+        for (int i = 0; i < count; i++) {
+            totals[employeeSlots[i]] += pay[i];
+        }
+        return totals;
+    }
+
+    /**
+     * Runs all passes over a pay period of attendance
+     * @param columns The attendance columns
+     * @return Gross pay per employee slot
+     */
+    public static double[] computeGrossPay(AttendanceColumns columns) {
+        int count = columns.getRowCount();
+        int[] worked = new int[count];
+        int[] nightDiff = new int[count];
+        double[] pay = new double[count];
+
+        computeMinutes(columns.getSecondIn(), columns.getSecondOut(), count, worked, nightDiff);
+        computeDailyPay(worked, nightDiff, count, pay);
+        return sumByEmployee(columns.getEmployeeSlots(), pay, count, columns.getEmployeeCount());
+    }
+}
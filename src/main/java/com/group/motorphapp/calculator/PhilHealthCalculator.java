@@ -1,10 +1,16 @@
 package com.group.motorphapp.calculator;
 
+import java.time.LocalDate;
+
 public class PhilHealthCalculator extends BaseCalculator {
-    private static final double CONTRIBUTION_RATE = 0.03; // 3%
 
     public double calculateContribution(double monthlyBasic) {
-        double contribution = monthlyBasic * CONTRIBUTION_RATE;
+        return calculateContribution(monthlyBasic, LocalDate.now());
+    }
+
+    // Uses the PhilHealth rule in force on the given date
+    public double calculateContribution(double monthlyBasic, LocalDate date) {
+        double contribution = DeductionRuleRegistry.forDate(date).calculatePhilhealthContribution(monthlyBasic);
         // Return employee's share (half of total contribution)
         return roundToTwoDecimals(contribution / 2);
     }
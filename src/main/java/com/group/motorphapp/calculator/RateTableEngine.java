@@ -0,0 +1,288 @@
+package com.group.motorphapp.calculator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contribution and tax brackets read from the bundled rate files.
+ * Each file is loaded once into sorted primitive arrays and a bracket is
+ * found with a binary search over the upper bounds, so a lookup costs
+ * O(log n) however many brackets the tables hold.
+ */
+public class RateTableEngine {
+    private static final String USER_DIR = System.getProperty("user.dir");
+    public static final String SSS_TABLE_FILE = USER_DIR + "/src/main/java/com/group/motorphapp/Resources/sss-contribution-table.tsv";
+    public static final String WITHHOLDING_TAX_FILE = USER_DIR + "/src/main/java/com/group/motorphapp/Resources/WithholdingTax.csv";
+
+    // SSS: compensation up to and including sssUpperBounds[i] pays sssContributions[i]
+    private final double[] sssUpperBounds;
+    private final double[] sssContributions;
+
+    // Tax: income below taxUpperBounds[i] pays taxFixed[i] + (income - taxBase[i]) * taxRate[i]
+    private final double[] taxUpperBounds;
+    private final double[] taxBase;
+    private final double[] taxRate;
+    private final double[] taxFixed;
+
+    private RateTableEngine(double[][] sssTable, double[][] taxTable) {
+        this.sssUpperBounds = sssTable[0];
+        this.sssContributions = sssTable[1];
+        this.taxUpperBounds = taxTable[0];
+        this.taxBase = taxTable[1];
+        this.taxRate = taxTable[2];
+        this.taxFixed = taxTable[3];
+    }
+
+    // Loaded on first use and replaced by reload()
+    private static volatile RateTableEngine instance;
+    // Modification times of the rate files when they were last read
+    private static volatile String checkedStamp;
+    private static final AtomicLong VERSION = new AtomicLong(1);
+
+    public static RateTableEngine getInstance() {
+        RateTableEngine engine = instance;
+        if (engine == null) {
+            synchronized (RateTableEngine.class) {
+                engine = instance;
+                if (engine == null) {
+                    checkedStamp = modifiedStamp();
+                    engine = load();
+                    instance = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Re-reads the rate files and swaps them in, so results computed with
+     * the old tables can be told apart by getVersion(). If either file
+     * cannot be read the tables already loaded stay in force.
+     * @return The engine in force afterwards
+     */
+    public static RateTableEngine reload() {
+        String stamp = modifiedStamp();
+        RateTableEngine engine = load();
+        synchronized (RateTableEngine.class) {
+            checkedStamp = stamp;
+            if (engine.getSssBracketCount() == 0 || engine.getTaxBracketCount() == 0) {
+                System.err.println("WARNING: Rate tables not reloaded; keeping the tables already loaded");
+                return getInstance();
+            }
+            instance = engine;
+            VERSION.incrementAndGet();
+        }
+        return engine;
+    }
+
+    /**
+     * Reloads the rate files if either changed on disk since it was last read
+     * @return true if new tables were loaded
+     */
+    public static boolean reloadIfModified() {
+        RateTableEngine current = getInstance();
+        return !modifiedStamp().equals(checkedStamp) && reload() != current;
+    }
+
+    // Changes every time the rate tables or the deduction rules are replaced
+    public static long getVersion() {
+        return VERSION.get();
+    }
+
+    static void markChanged() {
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * Reads both rate files from disk
+     * @return An engine holding the parsed tables
+     */
+    public static RateTableEngine load() {
+        return new RateTableEngine(loadSssTable(resolve(SSS_TABLE_FILE)), loadTaxTable(resolve(WITHHOLDING_TAX_FILE)));
+    }
+
+    /**
+     * Looks up the SSS contribution for a monthly compensation
+     * @param compensation The monthly compensation
+     * @return The employee's SSS contribution
+     */
+    public double lookupSssContribution(double compensation) {
+        if (sssUpperBounds.length == 0) {
+            return 0.0;
+        }
+        int bracket = firstAtLeast(sssUpperBounds, compensation);
+        return sssContributions[Math.min(bracket, sssContributions.length - 1)];
+    }
+
+    /**
+     * Computes the monthly withholding tax on a taxable income
+     * @param taxableIncome The monthly taxable income
+     * @return The withholding tax, never negative
+     */
+    public double lookupWithholdingTax(double taxableIncome) {
+        if (taxUpperBounds.length == 0) {
+            return 0.0;
+        }
+        int bracket = Math.min(firstAbove(taxUpperBounds, taxableIncome), taxUpperBounds.length - 1);
+        double tax = taxFixed[bracket] + (taxableIncome - taxBase[bracket]) * taxRate[bracket];
+        return Math.max(0.0, tax);
+    }
+
+    /**
+     * Identifies the loaded tables: equal values mean equal brackets and rates
+     * @return Every table column as text
+     */
+    public String getFingerprint() {
+        return Arrays.toString(sssUpperBounds) + Arrays.toString(sssContributions)
+                + Arrays.toString(taxUpperBounds) + Arrays.toString(taxBase)
+                + Arrays.toString(taxRate) + Arrays.toString(taxFixed);
+    }
+
+    public int getSssBracketCount() {
+        return sssUpperBounds.length;
+    }
+
+    public int getTaxBracketCount() {
+        return taxUpperBounds.length;
+    }
+
+    // Index of the first bound >= value, or bounds.length if none
+    private static int firstAtLeast(double[] bounds, double value) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Index of the first bound > value, or bounds.length if none
+    private static int firstAbove(double[] bounds, double value) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Rows look like "3,250 - 3,750 157.50"; the last range ends in "Over"
+    private static double[][] loadSssTable(String path) {
+        double[] upperBounds = new double[64];
+        double[] contributions = new double[64];
+        int count = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            // Skip header line
+            String line = reader.readLine();
+
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split("\t");
+                if (data.length < 4) {
+                    continue;
+                }
+                if (count == upperBounds.length) {
+                    upperBounds = Arrays.copyOf(upperBounds, count * 2);
+                    contributions = Arrays.copyOf(contributions, count * 2);
+                }
+                String upper = data[2].trim();
+                upperBounds[count] = upper.equalsIgnoreCase("Over")
+                        ? Double.POSITIVE_INFINITY : parseNumber(upper);
+                contributions[count] = parseNumber(data[3]);
+                count++;
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error reading SSS contribution table: " + e.getMessage());
+            count = 0;
+        }
+
+        double[][] table = {Arrays.copyOf(upperBounds, count), Arrays.copyOf(contributions, count)};
+        sortByFirstColumn(table);
+        return table;
+    }
+
+    // Columns: upper bound, amount subtracted from income, rate, fixed amount added
+    private static double[][] loadTaxTable(String path) {
+        double[][] columns = new double[4][16];
+        int count = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            // Skip header line
+            String line = reader.readLine();
+
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split(",");
+                if (data.length < 4) {
+                    continue;
+                }
+                if (count == columns[0].length) {
+                    for (int c = 0; c < columns.length; c++) {
+                        columns[c] = Arrays.copyOf(columns[c], count * 2);
+                    }
+                }
+                for (int c = 0; c < columns.length; c++) {
+                    columns[c][count] = parseNumber(data[c]);
+                }
+                count++;
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error reading withholding tax table: " + e.getMessage());
+            count = 0;
+        }
+
+        for (int c = 0; c < columns.length; c++) {
+            columns[c] = Arrays.copyOf(columns[c], count);
+        }
+        sortByFirstColumn(columns);
+        return columns;
+    }
+
+    private static double parseNumber(String value) {
+        return Double.parseDouble(value.replace(",", "").trim());
+    }
+
+    // Orders every column by the upper bounds in column 0, in case the file is not sorted
+    private static void sortByFirstColumn(double[][] columns) {
+        int rows = columns[0].length;
+        for (int i = 1; i < rows; i++) {
+            for (int j = i; j > 0 && columns[0][j - 1] > columns[0][j]; j--) {
+                for (double[] column : columns) {
+                    double swap = column[j];
+                    column[j] = column[j - 1];
+                    column[j - 1] = swap;
+                }
+            }
+        }
+    }
+
+    private static String modifiedStamp() {
+        return new File(resolve(SSS_TABLE_FILE)).lastModified() + ":" + new File(resolve(WITHHOLDING_TAX_FILE)).lastModified();
+    }
+
+    // Falls back to the lower-case resources folder on case-sensitive file systems
+    static String resolve(String path) {
+        if (new File(path).exists()) {
+            return path;
+        }
+        String lowerCase = path.replace("/Resources/", "/resources/");
+        if (new File(lowerCase).exists()) {
+            return lowerCase;
+        }
+        System.err.println("WARNING: Rate table file not found: " + path);
+        return path;
+    }
+}
@@ -0,0 +1,41 @@
+package com.group.motorphapp.calculator;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The minutes pass of GrossPayKernel on the incubating Vector API, one
+ * full vector of rows per step with the remainder done by the scalar loop.
+ * Only GrossPayKernel touches this class, and only after checking that
+ * jdk.incubator.vector is in the boot layer, so a JVM without the module
+ * never loads it.
+ */
+final class VectorMinutesKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorMinutesKernel() {
+    }
+
+    static void computeMinutes(int[] secondIn, int[] secondOut, int count, int[] worked, int[] nightDiff) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            IntVector in = IntVector.fromArray(SPECIES, secondIn, i);
+            IntVector out = IntVector.fromArray(SPECIES, secondOut, i);
+
+            // Time out earlier than time in is on the next day
+            VectorMask<Integer> overnight = out.compare(VectorOperators.LT, in);
+            IntVector end = out.add(BasicPayCalculator.SECONDS_PER_DAY, overnight);
+
+            end.sub(in).lanewise(VectorOperators.DIV, 60).intoArray(worked, i);
+            end.min(BasicPayCalculator.NIGHT_DIFF_END)
+                    .sub(in.max(BasicPayCalculator.NIGHT_DIFF_START))
+                    .max(0)
+                    .lanewise(VectorOperators.DIV, 60)
+                    .intoArray(nightDiff, i);
+        }
+        GrossPayKernel.computeMinutesScalar(secondIn, secondOut, i, count, worked, nightDiff);
+    }
+}
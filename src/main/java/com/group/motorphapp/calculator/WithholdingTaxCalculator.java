@@ -2,18 +2,16 @@ package com.group.motorphapp.calculator;
 
 public class WithholdingTaxCalculator extends BaseCalculator {
     public double calculateTax(double taxableIncome) {
-        if (taxableIncome <= 20833) {
-            return 0.0;
-        } else if (taxableIncome <= 33333) {
-            return roundToTwoDecimals((taxableIncome - 20833) * 0.20);
-        } else if (taxableIncome <= 66667) {
-            return roundToTwoDecimals(2500 + ((taxableIncome - 33333) * 0.25));
-        } else if (taxableIncome <= 166667) {
-            return roundToTwoDecimals(10833.33 + ((taxableIncome - 66667) * 0.30));
-        } else if (taxableIncome <= 666667) {
-            return roundToTwoDecimals(40833.33 + ((taxableIncome - 166667) * 0.32));
-        } else {
-            return roundToTwoDecimals(200833.33 + ((taxableIncome - 666667) * 0.35));
-        }
+        return roundToTwoDecimals(RateTableEngine.getInstance().lookupWithholdingTax(taxableIncome));
+    }
+
+    /**
+     * Computes the tax on a full year's taxable income with the monthly table,
+     * as twelve months of the average monthly income
+     * @param annualTaxableIncome The taxable income for the year
+     * @return The tax due for the year
+     */
+    public double calculateAnnualTax(double annualTaxableIncome) {
+        return roundToTwoDecimals(12 * RateTableEngine.getInstance().lookupWithholdingTax(annualTaxableIncome / 12));
     }
 }
\ No newline at end of file
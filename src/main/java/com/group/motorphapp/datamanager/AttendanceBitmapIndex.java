@@ -0,0 +1,284 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.TimeLog;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-employee calendar bitmaps of the days with attendance.
+ * Each employee gets one bit per day, counted from a base date, so presence
+ * checks are a single bit test and range queries work on whole words.
+ * A running per-day head count is kept so coverage queries do not need to
+ * look at every employee.
+ */
+public class AttendanceBitmapIndex {
+    private final Map<String, BitSet> presenceByEmployee;
+    private long baseEpochDay;
+    private int[] presentCounts;
+
+    public AttendanceBitmapIndex() {
+        this.presenceByEmployee = new HashMap<>();
+        this.baseEpochDay = Long.MIN_VALUE;
+        this.presentCounts = new int[0];
+    }
+
+    /**
+     * Builds an index from a list of time logs
+     * @param timeLogs The time logs to index
+     * @return The populated index
+     */
+    public static AttendanceBitmapIndex build(List<TimeLog> timeLogs) {
+        AttendanceBitmapIndex index = new AttendanceBitmapIndex();
+        if (timeLogs == null) {
+            return index;
+        }
+
+        // Start from the earliest date so no rebase is needed while building
+        LocalDate earliest = null;
+        for (TimeLog log : timeLogs) {
+            if (log.getDate() != null && (earliest == null || log.getDate().isBefore(earliest))) {
+                earliest = log.getDate();
+            }
+        }
+        if (earliest != null) {
+            index.baseEpochDay = earliest.withDayOfYear(1).toEpochDay();
+        }
+
+        for (TimeLog log : timeLogs) {
+            index.add(log);
+        }
+        return index;
+    }
+
+    // Marks the log's date as present for its employee
+    public void add(TimeLog log) {
+        if (log == null || log.getDate() == null || !isPresent(log)) {
+            return;
+        }
+        markPresent(log.getEmployeeNumber(), log.getDate());
+    }
+
+    // Marks an employee present on a date
+    public void markPresent(String employeeNumber, LocalDate date) {
+        int day = dayIndex(date);
+        BitSet days = presenceByEmployee.computeIfAbsent(employeeNumber, k -> new BitSet());
+        if (!days.get(day)) {
+            days.set(day);
+            ensureCountCapacity(day + 1);
+            presentCounts[day]++;
+        }
+    }
+
+    // Clears an employee's presence on a date
+    public void markAbsent(String employeeNumber, LocalDate date) {
+        BitSet days = presenceByEmployee.get(employeeNumber);
+        if (days == null || baseEpochDay == Long.MIN_VALUE) {
+            return;
+        }
+        long offset = date.toEpochDay() - baseEpochDay;
+        if (offset < 0 || offset >= days.length()) {
+            return;
+        }
+        int day = (int) offset;
+        if (days.get(day)) {
+            days.clear(day);
+            presentCounts[day]--;
+        }
+    }
+
+    // Drops every bit belonging to an employee
+    public void removeEmployee(String employeeNumber) {
+        BitSet days = presenceByEmployee.remove(employeeNumber);
+        if (days == null) {
+            return;
+        }
+        for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+            presentCounts[day]--;
+        }
+    }
+
+    /**
+     * Checks whether an employee has attendance on a date
+     * @param employeeNumber The employee number to check
+     * @param date The date to check
+     * @return true if the employee has a time log with punches on that date
+     */
+    public boolean isPresent(String employeeNumber, LocalDate date) {
+        BitSet days = presenceByEmployee.get(employeeNumber);
+        int day = lookupIndex(date);
+        return days != null && day >= 0 && days.get(day);
+    }
+
+    /**
+     * Counts how many employees were present on a date
+     * @param date The date to count
+     * @return The number of employees present
+     */
+    public int countPresent(LocalDate date) {
+        int day = lookupIndex(date);
+        if (day < 0 || day >= presentCounts.length) {
+            return 0;
+        }
+        return presentCounts[day];
+    }
+
+    /**
+     * Gets the head count for each day in a date range
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return One count per day, starting with startDate
+     */
+    public int[] getPresenceCounts(LocalDate startDate, LocalDate endDate) {
+        int length = (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1);
+        int[] counts = new int[Math.max(length, 0)];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = countPresent(startDate.plusDays(i));
+        }
+        return counts;
+    }
+
+    /**
+     * Finds which of the given employees have no attendance on a date
+     * @param date The date to check
+     * @param employeeNumbers The employees expected to report
+     * @return The employee numbers without attendance on that date
+     */
+    public List<String> getAbsentEmployees(LocalDate date, Collection<String> employeeNumbers) {
+        List<String> absent = new ArrayList<>();
+        int day = lookupIndex(date);
+        for (String employeeNumber : employeeNumbers) {
+            BitSet days = presenceByEmployee.get(employeeNumber);
+            if (days == null || day < 0 || !days.get(day)) {
+                absent.add(employeeNumber);
+            }
+        }
+        return absent;
+    }
+
+    /**
+     * Lists the weekdays in a range on which an employee has no attendance
+     * @param employeeNumber The employee number to check
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return The missed weekdays in ascending order
+     */
+    public List<LocalDate> getMissedWorkdays(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> missed = new ArrayList<>();
+        BitSet days = presenceByEmployee.get(employeeNumber);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!isWorkday(date)) {
+                continue;
+            }
+            int day = lookupIndex(date);
+            if (days == null || day < 0 || !days.get(day)) {
+                missed.add(date);
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * Counts the days in a range on which an employee has attendance
+     * @param employeeNumber The employee number to check
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return The number of days present
+     */
+    public int countPresentDays(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        BitSet days = presenceByEmployee.get(employeeNumber);
+        if (days == null || baseEpochDay == Long.MIN_VALUE) {
+            return 0;
+        }
+        long from = Math.max(0, startDate.toEpochDay() - baseEpochDay);
+        long to = Math.min(days.length(), endDate.toEpochDay() - baseEpochDay + 1);
+        if (from >= to) {
+            return 0;
+        }
+        return days.get((int) from, (int) to).cardinality();
+    }
+
+    /**
+     * Gets the share of weekdays in a range on which an employee has attendance
+     * @param employeeNumber The employee number to check
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return The attendance rate from 0.0 to 1.0, or 0.0 when the range has no weekdays
+     */
+    public double getAttendanceRate(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        int workdays = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (isWorkday(date)) {
+                workdays++;
+            }
+        }
+        if (workdays == 0) {
+            return 0.0;
+        }
+        int missed = getMissedWorkdays(employeeNumber, startDate, endDate).size();
+        return (workdays - missed) / (double) workdays;
+    }
+
+    // Only logs with at least one punch count as attendance
+    private boolean isPresent(TimeLog log) {
+        return log.getTimeIn() != null || log.getTimeOut() != null;
+    }
+
+    private boolean isWorkday(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+    }
+
+    // Bit position for a date, or -1 when it falls before the base date
+    private int lookupIndex(LocalDate date) {
+        if (baseEpochDay == Long.MIN_VALUE) {
+            return -1;
+        }
+        long offset = date.toEpochDay() - baseEpochDay;
+        return offset < 0 || offset > Integer.MAX_VALUE ? -1 : (int) offset;
+    }
+
+    // Bit position for a date, moving the base back if needed
+    private int dayIndex(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (baseEpochDay == Long.MIN_VALUE) {
+            baseEpochDay = date.withDayOfYear(1).toEpochDay();
+        } else if (epochDay < baseEpochDay) {
+            rebase(date.withDayOfYear(1).toEpochDay());
+        }
+        return (int) (epochDay - baseEpochDay);
+    }
+
+    // Shifts every bitmap so that newBase becomes bit 0
+    private void rebase(long newBase) {
+        int shift = (int) (baseEpochDay - newBase);
+        for (Map.Entry<String, BitSet> entry : presenceByEmployee.entrySet()) {
+            BitSet oldDays = entry.getValue();
+            BitSet newDays = new BitSet(oldDays.length() + shift);
+            for (int day = oldDays.nextSetBit(0); day >= 0; day = oldDays.nextSetBit(day + 1)) {
+                newDays.set(day + shift);
+            }
+            entry.setValue(newDays);
+        }
+
+        int[] newCounts = new int[presentCounts.length + shift];
+        System.arraycopy(presentCounts, 0, newCounts, shift, presentCounts.length);
+        presentCounts = newCounts;
+        baseEpochDay = newBase;
+    }
+
+    private void ensureCountCapacity(int size) {
+        if (presentCounts.length < size) {
+            int newSize = Math.max(size, presentCounts.length * 2);
+            int[] newCounts = new int[newSize];
+            System.arraycopy(presentCounts, 0, newCounts, 0, presentCounts.length);
+            presentCounts = newCounts;
+        }
+    }
+}
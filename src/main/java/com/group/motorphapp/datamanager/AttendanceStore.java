@@ -0,0 +1,81 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.TimeLog;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Storage for time logs that answers per-employee date range queries.
+ */
+public interface AttendanceStore {
+    // Stores a time log
+    void add(TimeLog log);
+
+    /**
+     * Removes one stored time log with the same employee, date and times
+     * @param log The time log to remove
+     * @return true if a matching time log was found and removed
+     */
+    boolean remove(TimeLog log);
+
+    // Removes every time log of an employee
+    void removeEmployee(String employeeNumber);
+
+    /**
+     * Gets time logs for a specific employee within a date range
+     * @param employeeNumber The employee number to find time logs for
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return The time logs in date order
+     */
+    List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Passes an employee's punches within a date range to a consumer as
+     * seconds from midnight, in the order getEmployeeTimeLogs returns them,
+     * without creating TimeLog objects
+     * @param employeeNumber The employee number to read punches for
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @param consumer Receives each punch
+     */
+    void forEachPunch(String employeeNumber, LocalDate startDate, LocalDate endDate, PunchConsumer consumer);
+
+    /**
+     * Counts an employee's time logs within a date range without reading them
+     * @param employeeNumber The employee number to count time logs for
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return The number of time logs in the range
+     */
+    int countEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Gets one page of an employee's time logs within a date range, so a
+     * viewer never has to read the whole history at once
+     * @param employeeNumber The employee number to find time logs for
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @param offset The number of time logs to skip, in the requested order
+     * @param limit The most time logs to return
+     * @param newestFirst true for latest date first, false for earliest first
+     * @return The time logs of the page in the requested date order
+     */
+    List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate,
+                                      int offset, int limit, boolean newestFirst);
+
+    // Copies every stored time log into a new list
+    List<TimeLog> getAllTimeLogs();
+
+    // Number of stored time logs
+    int size();
+
+    // Receives one punch; a missing time in or time out is -1
+    interface PunchConsumer {
+        void accept(int secondsIn, int secondsOut);
+    }
+
+    // Frees what the store holds outside the heap once it has been replaced; readers still holding it keep working
+    void release();
+}
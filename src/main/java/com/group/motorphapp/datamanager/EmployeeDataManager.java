@@ -10,6 +10,8 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public class EmployeeDataManager {
     // Define constants for file paths using absolute paths
@@ -17,6 +19,12 @@ public class EmployeeDataManager {
     public static final String EMPLOYEE_DATA_FILE = USER_DIR + "/src/main/java/com/group/motorphapp/Resources/employee-data.tsv";
     public static final String TIME_LOG_FILE = USER_DIR + "/src/main/java/com/group/motorphapp/Resources/attendance-record.csv";
 
+    // Government ID index over the last employee list read from file
+    private GovernmentIdIndex governmentIdIndex = new GovernmentIdIndex();
+
+    // Duplicate and overlapping punches held back by the last time log read
+    private PunchReviewQueue punchReviewQueue = new PunchReviewQueue();
+
     public EmployeeDataManager() {
         // Check if files exist when manager is created
         checkFilesExist();
@@ -89,7 +97,7 @@ public class EmployeeDataManager {
                         String tinNumber = data[8];
                         // Skip employmentStatus at index 10
                         String position = data[11];
-                        // Skip supervisor at index 12
+                        String supervisor = data[12];
                         
                         // Parse salary information
                         double basicSalary = parseMoneyValue(data[13]);
@@ -111,6 +119,7 @@ public class EmployeeDataManager {
                                 phoneAllowance,
                                 clothingAllowance
                         );
+                        employee.setSupervisor(supervisor);
                         employees.add(employee);
                     } catch (Exception e) {
                         System.err.println("Error processing employee data row: " + e.getMessage());
@@ -122,6 +131,7 @@ public class EmployeeDataManager {
                 }
             }
             System.out.println("Successfully loaded " + employees.size() + " employees from file");
+            governmentIdIndex = GovernmentIdIndex.build(employees);
         } catch (IOException e) {
             System.err.println("Error reading employee data: " + e.getMessage());
             e.printStackTrace();
@@ -159,6 +169,55 @@ public class EmployeeDataManager {
     // Get all time logs from the file
     public List<TimeLog> getTimeLogs() {
         List<TimeLog> timeLogs = new ArrayList<>();
+        readTimeLogs(timeLogs::add);
+        return timeLogs;
+    }
+
+    /**
+     * Reads the time log file, handing each parsed log to a consumer
+     * so callers can store logs without holding the whole file in a list.
+     * Exact duplicates and logs overlapping an earlier log of the same
+     * employee are not passed on; they are queued for review instead.
+     * @param consumer Receives each accepted time log in file order
+     * @return The number of time logs accepted
+     */
+    public int readTimeLogs(Consumer<TimeLog> consumer) {
+        return readTimeLogs(consumer, null);
+    }
+
+    /**
+     * Reads the time log file like readTimeLogs(consumer), also reporting how far along it is
+     * @param consumer Receives each accepted time log in file order
+     * @param progress Receives the percentage of the file read so far, or null
+     * @return The number of time logs accepted
+     */
+    public int readTimeLogs(Consumer<TimeLog> consumer, IntConsumer progress) {
+        PunchReviewQueue reviewQueue = new PunchReviewQueue();
+        PunchIngestIndex ingestIndex = new PunchIngestIndex(reviewQueue);
+        int[] accepted = new int[1];
+
+        readTimeLogFile(log -> {
+            if (ingestIndex.accept(log)) {
+                consumer.accept(log);
+                accepted[0]++;
+            }
+        }, progress);
+
+        if (!reviewQueue.isEmpty()) {
+            System.err.println("Held " + reviewQueue.size() + " duplicate or overlapping time logs for review");
+        }
+        punchReviewQueue = reviewQueue;
+        return accepted[0];
+    }
+
+    // Punches held back by the last call to readTimeLogs or getTimeLogs
+    public PunchReviewQueue getPunchReviewQueue() {
+        return punchReviewQueue;
+    }
+
+    // Reads every row of the time log file without screening
+    private int readTimeLogFile(Consumer<TimeLog> consumer, IntConsumer progress) {
+        int count = 0;
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("H:mm");
 
@@ -166,19 +225,30 @@ public class EmployeeDataManager {
         File timeLogFile = new File(TIME_LOG_FILE);
         if (!timeLogFile.exists() || !timeLogFile.canRead()) {
             System.err.println("Time log file does not exist or cannot be read: " + TIME_LOG_FILE);
-            return timeLogs;
+            return count;
         }
 
+        // Progress is estimated from characters read, one per byte plus the line break
+        long fileLength = Math.max(1, timeLogFile.length());
+        long charsRead = 0;
+        int percentDone = 0;
+
         try (BufferedReader reader = new BufferedReader(new FileReader(TIME_LOG_FILE))) {
             // Skip header line
             String line = reader.readLine();
             if (line == null) {
                 System.out.println("Time log file is empty or has no header");
-                return timeLogs;
+                return count;
             }
 
             // Read data lines
             while ((line = reader.readLine()) != null) {
+                charsRead += line.length() + 1;
+                int percent = (int) Math.min(99, charsRead * 100 / fileLength);
+                if (progress != null && percent > percentDone) {
+                    percentDone = percent;
+                    progress.accept(percent);
+                }
                 try {
                     String[] data = line.split(",");
                     if (data.length >= 6) {
@@ -193,7 +263,8 @@ public class EmployeeDataManager {
                         LocalTime timeOut = data[3].isEmpty() ? null : LocalTime.parse(timeOutString, timeFormatter);
 
                         TimeLog timeLog = new TimeLog(employeeNumber, date, timeIn, timeOut);
-                        timeLogs.add(timeLog);
+                        consumer.accept(timeLog);
+                        count++;
                     } else {
                         System.err.println("Invalid time log format: " + line);
                     }
@@ -202,13 +273,26 @@ public class EmployeeDataManager {
                     // Continue processing other lines
                 }
             }
-            System.out.println("Successfully loaded " + timeLogs.size() + " time logs from file");
+            System.out.println("Successfully loaded " + count + " time logs from file");
+            if (progress != null) {
+                progress.accept(100);
+            }
         } catch (IOException e) {
             System.err.println("Error reading time log data: " + e.getMessage());
             e.printStackTrace();
         }
 
-        return timeLogs;
+        return count;
+    }
+
+    /**
+     * Looks up the employee number holding a government ID, as of the last file read
+     * @param type The kind of ID to look up
+     * @param id The ID number, with or without dashes
+     * @return The employee number, or null if no employee holds the ID
+     */
+    public String findEmployeeNumberByGovernmentId(GovernmentIdIndex.IdType type, String id) {
+        return governmentIdIndex.findEmployeeNumber(type, id);
     }
 
     // Get refreshed employee list from file
@@ -240,11 +324,22 @@ public class EmployeeDataManager {
                 }
             }
 
+            // Check that the government IDs are not used by another employee
+            String conflict = governmentIdIndex.findConflict(newEmployee);
+            if (conflict != null) {
+                System.err.println("Cannot add employee: " + conflict);
+                return false;
+            }
+
             // Add the new employee
             allEmployees.add(newEmployee);
 
             // Write all employees back to file
-            return writeEmployeesToFile(allEmployees);
+            if (!writeEmployeesToFile(allEmployees)) {
+                return false;
+            }
+            governmentIdIndex.add(newEmployee);
+            return true;
 
         } catch (Exception e) {
             System.err.println("Error adding employee: " + e.getMessage());
@@ -265,6 +360,13 @@ public class EmployeeDataManager {
             List<Employee> allEmployees = getEmployees();
             boolean found = false;
 
+            // Check that the government IDs are not used by another employee
+            String conflict = governmentIdIndex.findConflict(updatedEmployee);
+            if (conflict != null) {
+                System.err.println("Cannot update employee: " + conflict);
+                return false;
+            }
+
             // Replace the employee to update
             for (int i = 0; i < allEmployees.size(); i++) {
                 if (allEmployees.get(i).getEmployeeNumber().equals(updatedEmployee.getEmployeeNumber())) {
@@ -281,7 +383,11 @@ public class EmployeeDataManager {
             }
 
             // Write all employees back to file
-            return writeEmployeesToFile(allEmployees);
+            if (!writeEmployeesToFile(allEmployees)) {
+                return false;
+            }
+            governmentIdIndex = GovernmentIdIndex.build(allEmployees);
+            return true;
 
         } catch (Exception e) {
             System.err.println("Error updating employee: " + e.getMessage());
@@ -335,8 +441,9 @@ public class EmployeeDataManager {
     // Delete time logs for an employee
     private boolean deleteEmployeeTimeLogs(String employeeNumber) {
         try {
-            // Read all time logs
-            List<TimeLog> allTimeLogs = getTimeLogs();
+            // Read all time logs, including any held for review
+            List<TimeLog> allTimeLogs = new ArrayList<>();
+            readTimeLogFile(allTimeLogs::add, null);
             List<TimeLog> updatedTimeLogs = new ArrayList<>();
 
             // Filter out the employee's time logs
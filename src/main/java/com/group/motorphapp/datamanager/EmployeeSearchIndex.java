@@ -0,0 +1,204 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Text search over names, positions and government IDs.
+ * Terms of three or more characters are answered from a trigram index,
+ * shorter terms from a prefix index over the start of each word, so a
+ * query only touches the employees that can match instead of the roster.
+ */
+public class EmployeeSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    // Normalized searchable text per employee number
+    private final Map<String, String> searchText;
+    private final Map<String, Set<String>> gramIndex;
+    private final Map<String, Set<String>> prefixIndex;
+
+    public EmployeeSearchIndex() {
+        this.searchText = new HashMap<>();
+        this.gramIndex = new HashMap<>();
+        this.prefixIndex = new HashMap<>();
+    }
+
+    /**
+     * Builds an index over a list of employees
+     * @param employees The employees to index
+     * @return The populated index
+     */
+    public static EmployeeSearchIndex build(List<Employee> employees) {
+        EmployeeSearchIndex index = new EmployeeSearchIndex();
+        if (employees != null) {
+            for (Employee employee : employees) {
+                index.add(employee);
+            }
+        }
+        return index;
+    }
+
+    // Adds an employee, replacing any earlier entry with the same number
+    public void add(Employee employee) {
+        String employeeNumber = employee.getEmployeeNumber();
+        remove(employeeNumber);
+
+        String text = buildSearchText(employee);
+        searchText.put(employeeNumber, text);
+        for (String word : text.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+                gramIndex.computeIfAbsent(word.substring(i, i + GRAM_LENGTH), k -> new HashSet<>()).add(employeeNumber);
+            }
+            for (int length = 1; length < GRAM_LENGTH && length <= word.length(); length++) {
+                prefixIndex.computeIfAbsent(word.substring(0, length), k -> new HashSet<>()).add(employeeNumber);
+            }
+        }
+    }
+
+    // Removes an employee from every posting list
+    public void remove(String employeeNumber) {
+        String text = searchText.remove(employeeNumber);
+        if (text == null) {
+            return;
+        }
+        for (String word : text.split(" ")) {
+            for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+                removePosting(gramIndex, word.substring(i, i + GRAM_LENGTH), employeeNumber);
+            }
+            for (int length = 1; length < GRAM_LENGTH && length <= word.length(); length++) {
+                removePosting(prefixIndex, word.substring(0, length), employeeNumber);
+            }
+        }
+    }
+
+    /**
+     * Searches for employees matching every word of a query
+     * @param query The text typed by the user
+     * @return The matching employee numbers, or null when the query is blank
+     */
+    public Set<String> search(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String term : normalize(query).split(" ")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        // Start from the most selective term and verify the rest against the text
+        Set<String> smallest = null;
+        for (String term : terms) {
+            Set<String> candidates = candidatesFor(term);
+            if (candidates.isEmpty()) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || candidates.size() < smallest.size()) {
+                smallest = candidates;
+            }
+        }
+
+        Set<String> matches = new LinkedHashSet<>();
+        for (String employeeNumber : smallest) {
+            String text = searchText.get(employeeNumber);
+            boolean allMatch = true;
+            for (String term : terms) {
+                if (!matchesTerm(text, term)) {
+                    allMatch = false;
+                    break;
+                }
+            }
+            if (allMatch) {
+                matches.add(employeeNumber);
+            }
+        }
+        return matches;
+    }
+
+    private Set<String> candidatesFor(String term) {
+        if (term.length() < GRAM_LENGTH) {
+            return prefixIndex.getOrDefault(term, Collections.emptySet());
+        }
+
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            Set<String> postings = gramIndex.get(term.substring(i, i + GRAM_LENGTH));
+            if (postings == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        return smallest;
+    }
+
+    // Short terms match the start of a word, longer ones anywhere in a word
+    private boolean matchesTerm(String text, String term) {
+        if (term.length() >= GRAM_LENGTH) {
+            return text.contains(term);
+        }
+        return text.startsWith(term) || text.contains(" " + term);
+    }
+
+    private String buildSearchText(Employee employee) {
+        StringBuilder text = new StringBuilder();
+        appendField(text, employee.getEmployeeNumber());
+        appendField(text, employee.getLastName());
+        appendField(text, employee.getFirstName());
+        appendField(text, employee.getPosition());
+        appendIdField(text, employee.getSssNumber());
+        appendIdField(text, employee.getPhilhealthNumber());
+        appendIdField(text, employee.getPagibigNumber());
+        appendIdField(text, employee.getTinNumber());
+        return text.toString().trim();
+    }
+
+    private void appendField(StringBuilder text, String value) {
+        if (value != null) {
+            text.append(' ').append(normalize(value));
+        }
+    }
+
+    // IDs are indexed without dashes so they can be typed either way
+    private void appendIdField(StringBuilder text, String value) {
+        if (value != null) {
+            text.append(' ').append(normalize(value).replace(" ", ""));
+        }
+    }
+
+    private static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (c != '-') {
+                normalized.append(' ');
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static void removePosting(Map<String, Set<String>> index, String key, String employeeNumber) {
+        Set<String> postings = index.get(key);
+        if (postings != null) {
+            postings.remove(employeeNumber);
+            if (postings.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.Employee;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Unique hash indexes on the SSS, PhilHealth, Pag-IBIG and TIN numbers.
+ * IDs are compared by their digits only, so "44-4506057-3" and "4445060573"
+ * are the same number.
+ */
+public class GovernmentIdIndex {
+    public enum IdType {
+        SSS("SSS number", Employee::getSssNumber),
+        PHILHEALTH("PhilHealth number", Employee::getPhilhealthNumber),
+        PAGIBIG("Pag-IBIG number", Employee::getPagibigNumber),
+        TIN("TIN", Employee::getTinNumber);
+
+        private final String label;
+        private final Function<Employee, String> getter;
+
+        IdType(String label, Function<Employee, String> getter) {
+            this.label = label;
+            this.getter = getter;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String valueOf(Employee employee) {
+            return getter.apply(employee);
+        }
+    }
+
+    private final Map<IdType, Map<String, String>> employeeNumberById;
+
+    public GovernmentIdIndex() {
+        this.employeeNumberById = new EnumMap<>(IdType.class);
+        for (IdType type : IdType.values()) {
+            employeeNumberById.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * Builds an index over a list of employees, keeping the first owner of any duplicate ID
+     * @param employees The employees to index
+     * @return The populated index
+     */
+    public static GovernmentIdIndex build(List<Employee> employees) {
+        GovernmentIdIndex index = new GovernmentIdIndex();
+        if (employees == null) {
+            return index;
+        }
+        for (Employee employee : employees) {
+            String conflict = index.findConflict(employee);
+            if (conflict != null) {
+                System.err.println("WARNING: " + conflict);
+            }
+            index.add(employee);
+        }
+        return index;
+    }
+
+    /**
+     * Looks up the employee that holds a government ID
+     * @param type The kind of ID
+     * @param id The ID, with or without dashes
+     * @return The employee number, or null if no employee holds the ID
+     */
+    public String findEmployeeNumber(IdType type, String id) {
+        String key = normalize(id);
+        return key == null ? null : employeeNumberById.get(type).get(key);
+    }
+
+    /**
+     * Checks whether any of an employee's IDs already belong to someone else
+     * @param employee The employee about to be added or updated
+     * @return A description of the first conflict, or null if all IDs are free
+     */
+    public String findConflict(Employee employee) {
+        for (IdType type : IdType.values()) {
+            String owner = findEmployeeNumber(type, type.valueOf(employee));
+            if (owner != null && !owner.equals(employee.getEmployeeNumber())) {
+                return type.getLabel() + " " + type.valueOf(employee) + " is already assigned to employee " + owner;
+            }
+        }
+        return null;
+    }
+
+    // Indexes each non-blank ID that is not already taken
+    public void add(Employee employee) {
+        for (IdType type : IdType.values()) {
+            String key = normalize(type.valueOf(employee));
+            if (key != null) {
+                employeeNumberById.get(type).putIfAbsent(key, employee.getEmployeeNumber());
+            }
+        }
+    }
+
+    // Removes the IDs an employee record holds
+    public void remove(Employee employee) {
+        for (IdType type : IdType.values()) {
+            String key = normalize(type.valueOf(employee));
+            if (key != null) {
+                employeeNumberById.get(type).remove(key, employee.getEmployeeNumber());
+            }
+        }
+    }
+
+    private static String normalize(String id) {
+        if (id == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(id.length());
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.length() == 0 ? null : digits.toString();
+    }
+}
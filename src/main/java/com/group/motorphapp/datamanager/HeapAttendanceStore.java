@@ -0,0 +1,233 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.TimeLog;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Default attendance storage: each employee's time logs in a list sorted by
+ * date, so a range query is a binary search plus a sequential read.
+ * Edits from the event thread and payroll runs reading on other threads are
+ * kept apart by a read/write lock: any number of readers at once, and a
+ * writer alone.
+ */
+public class HeapAttendanceStore implements AttendanceStore {
+    private final Map<String, List<TimeLog>> logsByEmployee;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    public HeapAttendanceStore() {
+        this.logsByEmployee = new HashMap<>();
+    }
+
+    /**
+     * Builds a store from a list of time logs
+     * @param timeLogs The time logs to store
+     * @return The populated store
+     */
+    public static HeapAttendanceStore build(List<TimeLog> timeLogs) {
+        HeapAttendanceStore store = new HeapAttendanceStore();
+        if (timeLogs != null) {
+            for (TimeLog log : timeLogs) {
+                store.add(log);
+            }
+        }
+        return store;
+    }
+
+    @Override
+    public void add(TimeLog log) {
+        lock.writeLock().lock();
+        try {
+            if (log == null || log.getDate() == null) {
+                return;
+            }
+            List<TimeLog> logs = logsByEmployee.computeIfAbsent(log.getEmployeeNumber(), k -> new ArrayList<>());
+
+            // Logs usually arrive in date order, so this is almost always an append
+            int position = logs.size();
+            while (position > 0 && logs.get(position - 1).getDate().isAfter(log.getDate())) {
+                position--;
+            }
+            logs.add(position, log);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(TimeLog log) {
+        lock.writeLock().lock();
+        try {
+            if (log == null || log.getDate() == null) {
+                return false;
+            }
+            List<TimeLog> logs = logsByEmployee.get(log.getEmployeeNumber());
+            if (logs == null) {
+                return false;
+            }
+            for (int i = firstOnOrAfter(logs, log.getDate()); i < logs.size(); i++) {
+                TimeLog stored = logs.get(i);
+                if (!stored.getDate().equals(log.getDate())) {
+                    break;
+                }
+                if (Objects.equals(stored.getTimeIn(), log.getTimeIn())
+                        && Objects.equals(stored.getTimeOut(), log.getTimeOut())) {
+                    logs.remove(i);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeEmployee(String employeeNumber) {
+        lock.writeLock().lock();
+        try {
+            List<TimeLog> logs = logsByEmployee.remove(employeeNumber);
+            if (logs != null) {
+                size -= logs.size();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> logs = logsByEmployee.get(employeeNumber);
+            List<TimeLog> employeeTimeLogs = new ArrayList<>();
+            if (logs == null) {
+                return employeeTimeLogs;
+            }
+
+            for (int i = firstOnOrAfter(logs, startDate); i < logs.size(); i++) {
+                TimeLog log = logs.get(i);
+                if (log.getDate().isAfter(endDate)) {
+                    break;
+                }
+                employeeTimeLogs.add(log);
+            }
+            return employeeTimeLogs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEachPunch(String employeeNumber, LocalDate startDate, LocalDate endDate, PunchConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> logs = logsByEmployee.get(employeeNumber);
+            if (logs == null) {
+                return;
+            }
+            for (int i = firstOnOrAfter(logs, startDate); i < logs.size(); i++) {
+                TimeLog log = logs.get(i);
+                if (log.getDate().isAfter(endDate)) {
+                    break;
+                }
+                consumer.accept(log.getTimeIn() == null ? -1 : log.getTimeIn().toSecondOfDay(),
+                        log.getTimeOut() == null ? -1 : log.getTimeOut().toSecondOfDay());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> logs = logsByEmployee.get(employeeNumber);
+            if (logs == null || endDate.isBefore(startDate)) {
+                return 0;
+            }
+            return firstOnOrAfter(logs, endDate.plusDays(1)) - firstOnOrAfter(logs, startDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate,
+                                             int offset, int limit, boolean newestFirst) {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> page = new ArrayList<>();
+            List<TimeLog> logs = logsByEmployee.get(employeeNumber);
+            if (logs == null || endDate.isBefore(startDate)) {
+                return page;
+            }
+
+            // The range is a slice of the sorted list; the page is a slice of that
+            int first = firstOnOrAfter(logs, startDate);
+            int last = firstOnOrAfter(logs, endDate.plusDays(1));
+            int count = Math.min(limit, last - first - offset);
+            for (int i = 0; i < count; i++) {
+                page.add(logs.get(newestFirst ? last - 1 - offset - i : first + offset + i));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TimeLog> getAllTimeLogs() {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> all = new ArrayList<>(size);
+            for (List<TimeLog> logs : logsByEmployee.values()) {
+                all.addAll(logs);
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Everything is on the heap and goes with the last reference
+    @Override
+    public void release() {
+    }
+
+    // Binary search for the first log dated on or after a date
+    private int firstOnOrAfter(List<TimeLog> logs, LocalDate date) {
+        int low = 0;
+        int high = logs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (logs.get(mid).getDate().isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,559 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.TimeLog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Attendance storage that keeps time log columns outside the Java heap.
+ * Logs are split into one segment per month. Each segment holds its columns
+ * (employee id, day of month, time in, time out) in direct buffers, or in
+ * memory-mapped files when a directory is given, together with a per-employee
+ * row chain so a range query only visits that employee's rows, and a
+ * per-employee row count so paging can skip whole months without reading them.
+ * The heap only holds the employee number dictionary and one small object
+ * per month, so it does not grow with the number of punches.
+ * Each store maps its files in a directory of its own under the given one,
+ * so a new store built while an older one is still in use never truncates
+ * a file the older one has mapped. A read/write lock lets payroll runs read
+ * on many threads at once while an edit, which may grow or relink a
+ * segment, runs alone.
+ */
+public class OffHeapAttendanceStore implements AttendanceStore {
+    private static final int INITIAL_ROWS = 1024;
+    private static final int INITIAL_EMPLOYEES = 64;
+    private static final int NO_ROW = -1;
+    private static final int NO_TIME = -1;
+
+    private final Path mapDirectory;
+    private final Map<String, Integer> employeeIds;
+    private final List<String> employeeNumbers;
+    private final NavigableMap<Integer, Segment> segments;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    // Stores the columns in direct buffers
+    public OffHeapAttendanceStore() {
+        this(null);
+    }
+
+    /**
+     * Creates a store whose columns live in memory-mapped files
+     * @param mapDirectory Directory under which the store creates its own segment directory,
+     *                     or null to use direct buffers
+     */
+    public OffHeapAttendanceStore(Path mapDirectory) {
+        this.employeeIds = new HashMap<>();
+        this.employeeNumbers = new ArrayList<>();
+        this.segments = new TreeMap<>();
+
+        if (mapDirectory != null) {
+            try {
+                Files.createDirectories(mapDirectory);
+                this.mapDirectory = Files.createTempDirectory(mapDirectory, "attendance-");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create attendance segment directory: " + mapDirectory, e);
+            }
+        } else {
+            this.mapDirectory = null;
+        }
+    }
+
+    @Override
+    public void add(TimeLog log) {
+        lock.writeLock().lock();
+        try {
+            if (log == null || log.getDate() == null) {
+                return;
+            }
+            int employeeId = employeeIds.computeIfAbsent(log.getEmployeeNumber(), number -> {
+                employeeNumbers.add(number);
+                return employeeNumbers.size() - 1;
+            });
+
+            LocalDate date = log.getDate();
+            int monthKey = monthKey(date.getYear(), date.getMonthValue());
+            Segment segment = segments.computeIfAbsent(monthKey, Segment::new);
+            segment.append(employeeId, date.getDayOfMonth(), secondsOf(log.getTimeIn()), secondsOf(log.getTimeOut()));
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(TimeLog log) {
+        lock.writeLock().lock();
+        try {
+            if (log == null || log.getDate() == null) {
+                return false;
+            }
+            Integer employeeId = employeeIds.get(log.getEmployeeNumber());
+            if (employeeId == null) {
+                return false;
+            }
+            LocalDate date = log.getDate();
+            Segment segment = segments.get(monthKey(date.getYear(), date.getMonthValue()));
+            if (segment == null) {
+                return false;
+            }
+            if (segment.unlinkRow(employeeId, date.getDayOfMonth(), secondsOf(log.getTimeIn()), secondsOf(log.getTimeOut()))) {
+                size--;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeEmployee(String employeeNumber) {
+        lock.writeLock().lock();
+        try {
+            Integer employeeId = employeeIds.get(employeeNumber);
+            if (employeeId == null) {
+                return;
+            }
+            for (Segment segment : segments.values()) {
+                size -= segment.unlink(employeeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> employeeTimeLogs = new ArrayList<>();
+            Integer employeeId = employeeIds.get(employeeNumber);
+            if (employeeId == null || endDate.isBefore(startDate)) {
+                return employeeTimeLogs;
+            }
+
+            int firstMonth = monthKey(startDate.getYear(), startDate.getMonthValue());
+            int lastMonth = monthKey(endDate.getYear(), endDate.getMonthValue());
+            for (Segment segment : segments.subMap(firstMonth, true, lastMonth, true).values()) {
+                int fromDay = segment.monthKey == firstMonth ? startDate.getDayOfMonth() : 1;
+                int toDay = segment.monthKey == lastMonth ? endDate.getDayOfMonth() : 31;
+                segment.collect(employeeId, employeeNumber, fromDay, toDay, employeeTimeLogs);
+            }
+
+            // Rows are chained in arrival order, which is usually but not always date order
+            employeeTimeLogs.sort(Comparator.comparing(TimeLog::getDate));
+            return employeeTimeLogs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEachPunch(String employeeNumber, LocalDate startDate, LocalDate endDate, PunchConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            Integer employeeId = employeeIds.get(employeeNumber);
+            if (employeeId == null || endDate.isBefore(startDate)) {
+                return;
+            }
+
+            int firstMonth = monthKey(startDate.getYear(), startDate.getMonthValue());
+            int lastMonth = monthKey(endDate.getYear(), endDate.getMonthValue());
+            for (Segment segment : segments.subMap(firstMonth, true, lastMonth, true).values()) {
+                int fromDay = segment.monthKey == firstMonth ? startDate.getDayOfMonth() : 1;
+                int toDay = segment.monthKey == lastMonth ? endDate.getDayOfMonth() : 31;
+                segment.visit(employeeId, fromDay, toDay, consumer);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            Integer employeeId = employeeIds.get(employeeNumber);
+            if (employeeId == null || endDate.isBefore(startDate)) {
+                return 0;
+            }
+
+            int count = 0;
+            int firstMonth = monthKey(startDate.getYear(), startDate.getMonthValue());
+            int lastMonth = monthKey(endDate.getYear(), endDate.getMonthValue());
+            for (Segment segment : segments.subMap(firstMonth, true, lastMonth, true).values()) {
+                int fromDay = segment.monthKey == firstMonth ? startDate.getDayOfMonth() : 1;
+                int toDay = segment.monthKey == lastMonth ? endDate.getDayOfMonth() : 31;
+                count += segment.count(employeeId, fromDay, toDay);
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate,
+                                             int offset, int limit, boolean newestFirst) {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> page = new ArrayList<>();
+            Integer employeeId = employeeIds.get(employeeNumber);
+            if (employeeId == null || endDate.isBefore(startDate)) {
+                return page;
+            }
+
+            int firstMonth = monthKey(startDate.getYear(), startDate.getMonthValue());
+            int lastMonth = monthKey(endDate.getYear(), endDate.getMonthValue());
+            NavigableMap<Integer, Segment> months = segments.subMap(firstMonth, true, lastMonth, true);
+            if (newestFirst) {
+                months = months.descendingMap();
+            }
+
+            // Whole months before the page are skipped by their counts; only months
+            // the page touches are read, one employee-month at a time
+            int skip = offset;
+            for (Segment segment : months.values()) {
+                if (page.size() >= limit) {
+                    break;
+                }
+                int fromDay = segment.monthKey == firstMonth ? startDate.getDayOfMonth() : 1;
+                int toDay = segment.monthKey == lastMonth ? endDate.getDayOfMonth() : 31;
+                int rows = segment.count(employeeId, fromDay, toDay);
+                if (skip >= rows) {
+                    skip -= rows;
+                    continue;
+                }
+
+                List<TimeLog> monthLogs = new ArrayList<>(rows);
+                segment.collect(employeeId, employeeNumber, fromDay, toDay, monthLogs);
+                monthLogs.sort(newestFirst
+                        ? Comparator.comparing(TimeLog::getDate).reversed()
+                        : Comparator.comparing(TimeLog::getDate));
+                page.addAll(monthLogs.subList(skip, Math.min(monthLogs.size(), skip + limit - page.size())));
+                skip = 0;
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TimeLog> getAllTimeLogs() {
+        lock.readLock().lock();
+        try {
+            List<TimeLog> all = new ArrayList<>(size);
+            for (Segment segment : segments.values()) {
+                for (int employeeId = 0; employeeId < employeeNumbers.size(); employeeId++) {
+                    segment.collect(employeeId, employeeNumbers.get(employeeId), 1, 31, all);
+                }
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the segment files once another store has taken over. The
+     * mappings are left alone: a reader still holding this store keeps
+     * valid memory until the buffers are collected. Where an open mapping
+     * blocks deletion, the files are deleted when the JVM exits instead.
+     */
+    @Override
+    public void release() {
+        if (mapDirectory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(mapDirectory)) {
+            for (Path file : files) {
+                delete(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Error listing attendance segment files in " + mapDirectory + ": " + e.getMessage());
+        }
+        delete(mapDirectory);
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private static int monthKey(int year, int month) {
+        return year * 12 + (month - 1);
+    }
+
+    private static int secondsOf(LocalTime time) {
+        return time == null ? NO_TIME : time.toSecondOfDay();
+    }
+
+    private static LocalTime timeOf(int seconds) {
+        return seconds == NO_TIME ? null : LocalTime.ofSecondOfDay(seconds);
+    }
+
+    private ByteBuffer allocate(int monthKey, String column, int bytes, boolean fresh) {
+        if (mapDirectory == null) {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        }
+        Path file = mapDirectory.resolve(String.format("%04d-%02d.%s", monthKey / 12, monthKey % 12 + 1, column));
+        try (FileChannel channel = fresh
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes).order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map attendance segment file: " + file, e);
+        }
+    }
+
+    // One month of time logs in columnar, off-heap form
+    private class Segment {
+        private final int monthKey;
+        private int rowCount;
+        private int rowCapacity;
+        private int employeeCapacity;
+
+        // Row columns: employee id, day of month, seconds in, seconds out, next row of the same employee
+        private ByteBuffer employeeColumn;
+        private ByteBuffer dayColumn;
+        private ByteBuffer timeInColumn;
+        private ByteBuffer timeOutColumn;
+        private ByteBuffer nextColumn;
+
+        // Per-employee first and last row of the chain, and its length
+        private ByteBuffer headColumn;
+        private ByteBuffer tailColumn;
+        private ByteBuffer countColumn;
+
+        Segment(int monthKey) {
+            this.monthKey = monthKey;
+            this.rowCapacity = INITIAL_ROWS;
+            this.employeeCapacity = Math.max(INITIAL_EMPLOYEES, employeeNumbers.size());
+            this.employeeColumn = allocate(monthKey, "employee", rowCapacity * Integer.BYTES, true);
+            this.dayColumn = allocate(monthKey, "day", rowCapacity, true);
+            this.timeInColumn = allocate(monthKey, "in", rowCapacity * Integer.BYTES, true);
+            this.timeOutColumn = allocate(monthKey, "out", rowCapacity * Integer.BYTES, true);
+            this.nextColumn = allocate(monthKey, "next", rowCapacity * Integer.BYTES, true);
+            this.headColumn = allocate(monthKey, "head", employeeCapacity * Integer.BYTES, true);
+            this.tailColumn = allocate(monthKey, "tail", employeeCapacity * Integer.BYTES, true);
+            this.countColumn = allocate(monthKey, "count", employeeCapacity * Integer.BYTES, true);
+            fillNoRow(headColumn, 0, employeeCapacity);
+            fillNoRow(tailColumn, 0, employeeCapacity);
+        }
+
+        void append(int employeeId, int day, int secondsIn, int secondsOut) {
+            if (rowCount == rowCapacity) {
+                growRows();
+            }
+            if (employeeId >= employeeCapacity) {
+                growEmployees(employeeId + 1);
+            }
+
+            int row = rowCount++;
+            employeeColumn.putInt(row * Integer.BYTES, employeeId);
+            dayColumn.put(row, (byte) day);
+            timeInColumn.putInt(row * Integer.BYTES, secondsIn);
+            timeOutColumn.putInt(row * Integer.BYTES, secondsOut);
+            nextColumn.putInt(row * Integer.BYTES, NO_ROW);
+
+            int tail = tailColumn.getInt(employeeId * Integer.BYTES);
+            if (tail == NO_ROW) {
+                headColumn.putInt(employeeId * Integer.BYTES, row);
+            } else {
+                nextColumn.putInt(tail * Integer.BYTES, row);
+            }
+            tailColumn.putInt(employeeId * Integer.BYTES, row);
+            addToCount(employeeId, 1);
+        }
+
+        // Counts an employee's rows between two days of the month; a whole month is one lookup
+        int count(int employeeId, int fromDay, int toDay) {
+            if (employeeId >= employeeCapacity) {
+                return 0;
+            }
+            if (fromDay <= 1 && toDay >= 31) {
+                return countColumn.getInt(employeeId * Integer.BYTES);
+            }
+            int count = 0;
+            for (int row = headColumn.getInt(employeeId * Integer.BYTES); row != NO_ROW;
+                 row = nextColumn.getInt(row * Integer.BYTES)) {
+                int day = dayColumn.get(row);
+                if (day >= fromDay && day <= toDay) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // Reads an employee's rows between two days of the month into TimeLog objects
+        void collect(int employeeId, String employeeNumber, int fromDay, int toDay, List<TimeLog> target) {
+            if (employeeId >= employeeCapacity) {
+                return;
+            }
+            int year = monthKey / 12;
+            int month = monthKey % 12 + 1;
+            for (int row = headColumn.getInt(employeeId * Integer.BYTES); row != NO_ROW;
+                 row = nextColumn.getInt(row * Integer.BYTES)) {
+                int day = dayColumn.get(row);
+                if (day >= fromDay && day <= toDay) {
+                    target.add(new TimeLog(employeeNumber, LocalDate.of(year, month, day),
+                            timeOf(timeInColumn.getInt(row * Integer.BYTES)),
+                            timeOf(timeOutColumn.getInt(row * Integer.BYTES))));
+                }
+            }
+        }
+
+        // Passes an employee's rows between two days of the month to a consumer, in date order
+        // and arrival order within a day, the same order getEmployeeTimeLogs sorts them into
+        void visit(int employeeId, int fromDay, int toDay, PunchConsumer consumer) {
+            if (employeeId >= employeeCapacity) {
+                return;
+            }
+            int[] rows = new int[32];
+            int count = 0;
+            for (int row = headColumn.getInt(employeeId * Integer.BYTES); row != NO_ROW;
+                 row = nextColumn.getInt(row * Integer.BYTES)) {
+                int day = dayColumn.get(row);
+                if (day >= fromDay && day <= toDay) {
+                    if (count == rows.length) {
+                        rows = Arrays.copyOf(rows, count * 2);
+                    }
+                    // Insertion keeps equal days in arrival order, like a stable sort
+                    int at = count++;
+                    while (at > 0 && dayColumn.get(rows[at - 1]) > day) {
+                        rows[at] = rows[at - 1];
+                        at--;
+                    }
+                    rows[at] = row;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                consumer.accept(timeInColumn.getInt(rows[i] * Integer.BYTES), timeOutColumn.getInt(rows[i] * Integer.BYTES));
+            }
+        }
+
+        // Detaches an employee's chain; returns the number of rows dropped
+        int unlink(int employeeId) {
+            if (employeeId >= employeeCapacity) {
+                return 0;
+            }
+            int removed = 0;
+            for (int row = headColumn.getInt(employeeId * Integer.BYTES); row != NO_ROW;
+                 row = nextColumn.getInt(row * Integer.BYTES)) {
+                removed++;
+            }
+            headColumn.putInt(employeeId * Integer.BYTES, NO_ROW);
+            tailColumn.putInt(employeeId * Integer.BYTES, NO_ROW);
+            countColumn.putInt(employeeId * Integer.BYTES, 0);
+            return removed;
+        }
+
+        // Detaches the first matching row from an employee's chain; its slot is not reused
+        boolean unlinkRow(int employeeId, int day, int secondsIn, int secondsOut) {
+            if (employeeId >= employeeCapacity) {
+                return false;
+            }
+            int previous = NO_ROW;
+            for (int row = headColumn.getInt(employeeId * Integer.BYTES); row != NO_ROW;
+                 row = nextColumn.getInt(row * Integer.BYTES)) {
+                if (dayColumn.get(row) == day
+                        && timeInColumn.getInt(row * Integer.BYTES) == secondsIn
+                        && timeOutColumn.getInt(row * Integer.BYTES) == secondsOut) {
+                    int next = nextColumn.getInt(row * Integer.BYTES);
+                    if (previous == NO_ROW) {
+                        headColumn.putInt(employeeId * Integer.BYTES, next);
+                    } else {
+                        nextColumn.putInt(previous * Integer.BYTES, next);
+                    }
+                    if (tailColumn.getInt(employeeId * Integer.BYTES) == row) {
+                        tailColumn.putInt(employeeId * Integer.BYTES, previous);
+                    }
+                    addToCount(employeeId, -1);
+                    return true;
+                }
+                previous = row;
+            }
+            return false;
+        }
+
+        private void growRows() {
+            int newCapacity = rowCapacity * 2;
+            employeeColumn = copyOf(employeeColumn, "employee", newCapacity * Integer.BYTES);
+            dayColumn = copyOf(dayColumn, "day", newCapacity);
+            timeInColumn = copyOf(timeInColumn, "in", newCapacity * Integer.BYTES);
+            timeOutColumn = copyOf(timeOutColumn, "out", newCapacity * Integer.BYTES);
+            nextColumn = copyOf(nextColumn, "next", newCapacity * Integer.BYTES);
+            rowCapacity = newCapacity;
+        }
+
+        private void growEmployees(int minimum) {
+            int newCapacity = Math.max(minimum, employeeCapacity * 2);
+            headColumn = copyOf(headColumn, "head", newCapacity * Integer.BYTES);
+            tailColumn = copyOf(tailColumn, "tail", newCapacity * Integer.BYTES);
+            countColumn = copyOf(countColumn, "count", newCapacity * Integer.BYTES);
+            fillNoRow(headColumn, employeeCapacity, newCapacity);
+            fillNoRow(tailColumn, employeeCapacity, newCapacity);
+            employeeCapacity = newCapacity;
+        }
+
+        private ByteBuffer copyOf(ByteBuffer column, String name, int bytes) {
+            if (mapDirectory != null) {
+                // Remapping the same file with a larger size keeps the existing contents
+                return allocate(monthKey, name, bytes, false);
+            }
+            ByteBuffer grown = allocate(monthKey, name, bytes, true);
+            ByteBuffer source = column.duplicate();
+            source.clear();
+            grown.put(source);
+            grown.clear();
+            return grown;
+        }
+
+        private void addToCount(int employeeId, int delta) {
+            int position = employeeId * Integer.BYTES;
+            countColumn.putInt(position, countColumn.getInt(position) + delta);
+        }
+
+        private void fillNoRow(ByteBuffer column, int from, int to) {
+            for (int i = from; i < to; i++) {
+                column.putInt(i * Integer.BYTES, NO_ROW);
+            }
+        }
+    }
+}
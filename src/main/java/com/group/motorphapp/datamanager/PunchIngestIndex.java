@@ -0,0 +1,173 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.TimeLog;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Screens time logs as they are read, keyed on employee and date.
+ * Each accepted log is remembered only as two ints, its time in and time
+ * out in seconds from midnight of its date, so a new log is compared with
+ * the few logs of the same employee on the same day and the days either
+ * side. Each employee keeps a window of their own recent days: days more
+ * than WINDOW_DAYS behind the latest date read for that employee are
+ * dropped, so memory stays bounded however long the history is, whether
+ * the file is sorted by date or by employee. Repeats, overlaps and logs too
+ * far behind their employee's window to be checked go to a review queue
+ * instead of being paid.
+ */
+public class PunchIngestIndex {
+    // Days kept behind an employee's latest date read; an older log of theirs cannot be screened
+    public static final int WINDOW_DAYS = 31;
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    // Stands for a missing time in or time out
+    private static final int NO_TIME = -1;
+
+    private final Map<String, EmployeeWindow> windows;
+    private final PunchReviewQueue reviewQueue;
+
+    public PunchIngestIndex(PunchReviewQueue reviewQueue) {
+        this.windows = new HashMap<>();
+        this.reviewQueue = reviewQueue;
+    }
+
+    /**
+     * Checks a time log against the logs accepted so far
+     * @param log The time log just read
+     * @return true if the log should be kept, false if it was sent for review
+     */
+    public boolean accept(TimeLog log) {
+        String employeeNumber = log.getEmployeeNumber();
+        EmployeeWindow window = windows.computeIfAbsent(employeeNumber, key -> new EmployeeWindow());
+        long day = log.getDate().toEpochDay();
+        if (window.latestDay != Long.MIN_VALUE && day < window.latestDay - WINDOW_DAYS) {
+            reviewQueue.add(new PunchReviewQueue.Item(PunchReviewQueue.Reason.OUT_OF_ORDER, log, null));
+            return false;
+        }
+
+        int in = secondsOf(log.getTimeIn());
+        int out = secondsOf(log.getTimeOut());
+
+        // An overnight shift from the day before can run into this one, and this
+        // log may be the earlier day of an overnight shift already seen
+        for (int offset = -1; offset <= 1; offset++) {
+            int[] pairs = window.acceptedByDay.get(day + offset);
+            if (pairs == null) {
+                continue;
+            }
+            for (int i = 1; i < pairs[0]; i += 2) {
+                PunchReviewQueue.Reason reason = conflict(pairs[i], pairs[i + 1], offset, in, out);
+                if (reason != null) {
+                    reject(reason, log, day + offset, pairs[i], pairs[i + 1]);
+                    return false;
+                }
+            }
+        }
+
+        window.remember(day, in, out);
+        return true;
+    }
+
+    /**
+     * Checks one time log against an employee's stored logs, as for a punch
+     * entered by hand after the file was loaded
+     * @param log The time log to add
+     * @param store The stored time logs
+     * @return The reason to hold the log with the log it conflicts with, or null if it can be kept
+     */
+    public static PunchReviewQueue.Item screen(TimeLog log, AttendanceStore store) {
+        LocalDate date = log.getDate();
+        int in = secondsOf(log.getTimeIn());
+        int out = secondsOf(log.getTimeOut());
+        for (TimeLog stored : store.getEmployeeTimeLogs(log.getEmployeeNumber(), date.minusDays(1), date.plusDays(1))) {
+            int offset = (int) (stored.getDate().toEpochDay() - date.toEpochDay());
+            PunchReviewQueue.Reason reason = conflict(secondsOf(stored.getTimeIn()), secondsOf(stored.getTimeOut()),
+                    offset, in, out);
+            if (reason != null) {
+                return new PunchReviewQueue.Item(reason, log, stored);
+            }
+        }
+        return null;
+    }
+
+    public PunchReviewQueue getReviewQueue() {
+        return reviewQueue;
+    }
+
+    // Days currently held for screening, over all employees
+    public int getDaysHeld() {
+        int days = 0;
+        for (EmployeeWindow window : windows.values()) {
+            days += window.acceptedByDay.size();
+        }
+        return days;
+    }
+
+    private void reject(PunchReviewQueue.Reason reason, TimeLog log, long day, int in, int out) {
+        TimeLog accepted = new TimeLog(log.getEmployeeNumber(), LocalDate.ofEpochDay(day), timeOf(in), timeOf(out));
+        reviewQueue.add(new PunchReviewQueue.Item(reason, log, accepted));
+    }
+
+    // Compares an accepted log dayOffset days from the new one; null means no conflict
+    private static PunchReviewQueue.Reason conflict(int acceptedIn, int acceptedOut, int dayOffset, int in, int out) {
+        if (dayOffset == 0 && acceptedIn == in && acceptedOut == out) {
+            return PunchReviewQueue.Reason.DUPLICATE;
+        }
+        return overlaps(acceptedIn, acceptedOut, dayOffset * SECONDS_PER_DAY, in, out)
+                ? PunchReviewQueue.Reason.OVERLAP : null;
+    }
+
+    // Compares intervals, with the accepted log shifted by dayOffset seconds relative to the new one
+    private static boolean overlaps(int acceptedIn, int acceptedOut, int dayOffset, int in, int out) {
+        if (acceptedIn == NO_TIME || acceptedOut == NO_TIME || in == NO_TIME || out == NO_TIME) {
+            return false;
+        }
+        int acceptedStart = acceptedIn + dayOffset;
+        int acceptedEnd = endSeconds(acceptedIn, acceptedOut) + dayOffset;
+        return in < acceptedEnd && acceptedStart < endSeconds(in, out);
+    }
+
+    // Time out in seconds from midnight of the log's date, past 86,400 for overnight shifts
+    private static int endSeconds(int in, int out) {
+        return out < in ? out + SECONDS_PER_DAY : out;
+    }
+
+    private static int secondsOf(LocalTime time) {
+        return time == null ? NO_TIME : time.toSecondOfDay();
+    }
+
+    private static LocalTime timeOf(int seconds) {
+        return seconds == NO_TIME ? null : LocalTime.ofSecondOfDay(seconds);
+    }
+
+    // One employee's recent accepted logs
+    private static final class EmployeeWindow {
+        // Epoch day -> accepted logs; element 0 is the used length, (seconds in, seconds out) pairs follow
+        private final NavigableMap<Long, int[]> acceptedByDay = new TreeMap<>();
+        private long latestDay = Long.MIN_VALUE;
+
+        private void remember(long day, int in, int out) {
+            int[] pairs = acceptedByDay.get(day);
+            if (pairs == null) {
+                pairs = new int[]{1, 0, 0};
+            } else if (pairs[0] + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length * 2 - 1);
+            }
+            pairs[pairs[0]] = in;
+            pairs[pairs[0] + 1] = out;
+            pairs[0] += 2;
+            acceptedByDay.put(day, pairs);
+
+            if (day > latestDay) {
+                latestDay = day;
+                acceptedByDay.headMap(latestDay - WINDOW_DAYS - 1).clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.group.motorphapp.datamanager;
+
+import com.group.motorphapp.model.TimeLog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Time logs held back at ingest because they repeat or overlap a log
+ * already accepted for the same employee. Held logs are not paid until
+ * someone reviews them.
+ */
+public class PunchReviewQueue {
+    public enum Reason {
+        DUPLICATE("Exact duplicate"),
+        OVERLAP("Overlapping shift"),
+        OUT_OF_ORDER("Too far out of date order to screen");
+
+        private final String label;
+
+        Reason(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public static class Item {
+        private final Reason reason;
+        private final TimeLog heldLog;
+        private final TimeLog acceptedLog;
+
+        public Item(Reason reason, TimeLog heldLog, TimeLog acceptedLog) {
+            this.reason = reason;
+            this.heldLog = heldLog;
+            this.acceptedLog = acceptedLog;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+
+        // The log that was kept out of payroll
+        public TimeLog getHeldLog() {
+            return heldLog;
+        }
+
+        // The earlier log it conflicts with, or null for OUT_OF_ORDER
+        public TimeLog getAcceptedLog() {
+            return acceptedLog;
+        }
+
+        @Override
+        public String toString() {
+            if (acceptedLog == null) {
+                return reason.getLabel() + ": employee " + heldLog.getEmployeeNumber() + " on " + heldLog.getDate()
+                        + " (" + heldLog.getTimeIn() + "-" + heldLog.getTimeOut() + ")";
+            }
+            return reason.getLabel() + ": employee " + heldLog.getEmployeeNumber() + " on " + heldLog.getDate()
+                    + " (" + heldLog.getTimeIn() + "-" + heldLog.getTimeOut() + ") conflicts with ("
+                    + acceptedLog.getTimeIn() + "-" + acceptedLog.getTimeOut() + ")";
+        }
+    }
+
+    private final List<Item> items;
+
+    public PunchReviewQueue() {
+        this.items = new ArrayList<>();
+    }
+
+    public void add(Item item) {
+        items.add(item);
+    }
+
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
@@ -0,0 +1,216 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollRegister;
+import com.group.motorphapp.model.PayrollTotals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Writes the fixed-width payroll credit file a bank uploads to pay net
+ * salaries. Records are ASCII, padded with spaces to the layout's record
+ * length. Positions are 1-based:
+ *
+ *   Header   1 'H', 2-11 company code, 12-41 company name,
+ *            42-57 funding account, 58-65 credit date (yyyyMMdd),
+ *            66-73 pay period end (yyyyMMdd)
+ *   Detail   1 'D', 2-17 account number (zero padded), 18-32 net pay in
+ *            centavos (zero padded), 33-42 employee number, 43-72 name
+ *   Trailer  1 'T', 2-7 detail count, 8-25 control total in centavos,
+ *            26-43 hash total (sum of the account numbers)
+ *
+ * The file is produced in one pass over the register, formatting bytes
+ * straight into a reused buffer. Employees with no net pay are left out;
+ * an employee without a bank account stops the file.
+ */
+public class BankDisbursementWriter {
+    private static final int ACCOUNT_WIDTH = 16;
+    private static final int AMOUNT_WIDTH = 15;
+    private static final int TOTAL_WIDTH = 18;
+    private static final long HASH_MODULUS = 1_000_000_000_000_000_000L;
+
+    private final BankFileLayout layout;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final byte[] record;
+    private final byte[] separator;
+    private FileChannel channel;
+
+    public BankDisbursementWriter(BankFileLayout layout) {
+        this.layout = layout;
+        this.record = new byte[layout.getRecordLength()];
+        this.separator = layout.getLineSeparator().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Writes the credit file for a payroll register
+     * @param register The computed payroll register
+     * @param creditDate The date the bank credits the accounts
+     * @param bankFile The file to create; replaced only once it is complete
+     * @return The number of detail records written
+     * @throws IOException If the file cannot be written
+     * @throws IllegalArgumentException If an employee has no usable bank account or a negative net pay
+     */
+    public int write(PayrollRegister register, LocalDate creditDate, Path bankFile) throws IOException {
+        Path directory = bankFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path tempFile = Files.createTempFile(directory, "bank", ".txt.tmp");
+        int details = 0;
+        long controlTotal = 0;
+        long hashTotal = 0;
+        try {
+            try (FileChannel output = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel = output;
+                buffer.clear();
+
+                startRecord('H');
+                putText(2, 10, layout.getCompanyCode());
+                putText(12, 30, layout.getCompanyName());
+                putText(42, 16, layout.getFundingAccount());
+                putDate(58, creditDate);
+                putDate(66, register.getPayPeriod().getEndDate());
+                endRecord();
+
+                for (PayrollEntry entry : register.getEntries()) {
+                    long centavos = PayrollTotals.toCentavos(entry.getNetPay());
+                    if (centavos == 0) {
+                        continue;
+                    }
+                    if (centavos < 0) {
+                        throw new IllegalArgumentException("Negative net pay for employee " + entry.getEmployeeNumber());
+                    }
+                    long account = accountNumber(entry.getEmployeeNumber());
+
+                    startRecord('D');
+                    putNumber(2, ACCOUNT_WIDTH, account);
+                    putNumber(18, AMOUNT_WIDTH, centavos);
+                    putText(33, 10, entry.getEmployeeNumber());
+                    int next = putText(43, 30, entry.getLastName());
+                    next = putText(next, 43 + 30 - next, ", ");
+                    putText(next, 43 + 30 - next, entry.getFirstName());
+                    endRecord();
+
+                    details++;
+                    controlTotal += centavos;
+                    hashTotal = (hashTotal + account) % HASH_MODULUS;
+                }
+
+                startRecord('T');
+                putNumber(2, 6, details);
+                putNumber(8, TOTAL_WIDTH, controlTotal);
+                putNumber(26, TOTAL_WIDTH, hashTotal);
+                endRecord();
+                drain();
+            } finally {
+                channel = null;
+            }
+            Files.move(tempFile, bankFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        System.out.println(String.format("Bank file %s: %d credits, control total %.2f",
+                bankFile, details, PayrollTotals.toPesos(controlTotal)));
+        return details;
+    }
+
+    // The employee's account digits as a number, so they can be zero padded and hashed
+    private long accountNumber(String employeeNumber) {
+        String account = layout.getAccount(employeeNumber);
+        long number = 0;
+        int digitCount = 0;
+        if (account != null) {
+            for (int i = 0; i < account.length(); i++) {
+                char c = account.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    number = number * 10 + (c - '0');
+                    digitCount++;
+                } else if (c != '-' && c != ' ') {
+                    throw new IllegalArgumentException("Invalid bank account for employee " + employeeNumber + ": " + account);
+                }
+            }
+        }
+        if (digitCount == 0) {
+            throw new IllegalArgumentException("No bank account for employee " + employeeNumber);
+        }
+        if (digitCount > ACCOUNT_WIDTH) {
+            throw new IllegalArgumentException("Bank account of employee " + employeeNumber + " is longer than "
+                    + ACCOUNT_WIDTH + " digits");
+        }
+        return number;
+    }
+
+    private void startRecord(char type) {
+        Arrays.fill(record, (byte) ' ');
+        record[0] = (byte) type;
+    }
+
+    /**
+     * Copies text into a field, upper case and left aligned, cut at the field width
+     * @param start The 1-based position of the field
+     * @param width The field width
+     * @param value The text
+     * @return The position after the last character written
+     */
+    private int putText(int start, int width, String value) {
+        int position = start - 1;
+        if (value == null) {
+            return start;
+        }
+        for (int i = 0; i < value.length() && position < start - 1 + width; i++) {
+            record[position++] = (byte) toAscii(value.charAt(i));
+        }
+        return position + 1;
+    }
+
+    // Right aligned and zero padded
+    private void putNumber(int start, int width, long value) {
+        int position = start - 1 + width;
+        for (int i = 0; i < width; i++) {
+            record[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        if (value != 0) {
+            throw new IllegalArgumentException("Value does not fit in " + width + " digits");
+        }
+    }
+
+    private void putDate(int start, LocalDate date) {
+        putNumber(start, 8, date.getYear() * 10_000L + date.getMonthValue() * 100L + date.getDayOfMonth());
+    }
+
+    private void endRecord() throws IOException {
+        if (buffer.remaining() < record.length + separator.length) {
+            drain();
+        }
+        buffer.put(record);
+        buffer.put(separator);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Banks take plain upper case ASCII; accents are dropped, as in PEÑA -> PENA
+    private static char toAscii(char c) {
+        if (c < 0x80) {
+            return Character.toUpperCase(c);
+        }
+        char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+        return base < 0x80 ? Character.toUpperCase(base) : '?';
+    }
+}
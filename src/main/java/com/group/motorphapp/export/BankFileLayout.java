@@ -0,0 +1,99 @@
+package com.group.motorphapp.export;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Settings of a bank payroll credit file: who the company is, which
+ * account is debited, how long each record is and where each employee's
+ * net pay is credited. The record layout itself is described in
+ * BankDisbursementWriter.
+ */
+public class BankFileLayout {
+    public static final int MINIMUM_RECORD_LENGTH = 80;
+
+    private final String companyCode;
+    private final String companyName;
+    private final String fundingAccount;
+    private final Function<String, String> accountOfEmployee;
+    private int recordLength = MINIMUM_RECORD_LENGTH;
+    private String lineSeparator = "\r\n";
+
+    /**
+     * Creates a layout
+     * @param companyCode The company code assigned by the bank
+     * @param companyName The company name for the header
+     * @param fundingAccount The account the payroll is debited from
+     * @param accountOfEmployee Gives an employee number's bank account, or null if there is none
+     */
+    public BankFileLayout(String companyCode, String companyName, String fundingAccount,
+                          Function<String, String> accountOfEmployee) {
+        this.companyCode = companyCode;
+        this.companyName = companyName;
+        this.fundingAccount = fundingAccount;
+        this.accountOfEmployee = accountOfEmployee;
+    }
+
+    /**
+     * Reads employee bank accounts from a CSV file of employee number and account number
+     * @param accountsFile The file, with a header line
+     * @return The lookup from employee number to account number
+     * @throws IOException If the file cannot be read
+     */
+    public static Function<String, String> accountsFromFile(Path accountsFile) throws IOException {
+        Map<String, String> accounts = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(accountsFile, StandardCharsets.UTF_8)) {
+            reader.readLine(); // Skip header line
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split(",");
+                if (data.length >= 2 && !data[0].trim().isEmpty()) {
+                    accounts.put(data[0].trim(), data[1].trim());
+                }
+            }
+        }
+        return accounts::get;
+    }
+
+    public String getCompanyCode() {
+        return companyCode;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public String getFundingAccount() {
+        return fundingAccount;
+    }
+
+    public String getAccount(String employeeNumber) {
+        return accountOfEmployee.apply(employeeNumber);
+    }
+
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    // Records are padded with spaces to this length; some banks ask for more than 80
+    public void setRecordLength(int recordLength) {
+        if (recordLength < MINIMUM_RECORD_LENGTH) {
+            throw new IllegalArgumentException("Records must be at least " + MINIMUM_RECORD_LENGTH + " characters long.");
+        }
+        this.recordLength = recordLength;
+    }
+
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+}
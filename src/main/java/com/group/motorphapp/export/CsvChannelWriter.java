@@ -0,0 +1,165 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.PayrollTotals;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes CSV rows to a file through a FileChannel. Text is UTF-8 encoded
+ * and amounts are formatted straight into a reused buffer, so no String
+ * is built per row or per amount. Fields are separated automatically;
+ * call endRow after the last field of each row.
+ */
+class CsvChannelWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+    private boolean firstField = true;
+
+    CsvChannelWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // Writes a header line as is
+    CsvChannelWriter header(String header) throws IOException {
+        writeText(header);
+        return endRow();
+    }
+
+    // Quotes the value if it holds a comma, quote or line break, as RFC 4180 requires
+    CsvChannelWriter text(String value) throws IOException {
+        separate();
+        if (value == null) {
+            return this;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writeText(value);
+            return this;
+        }
+        ensure(1);
+        buffer.put((byte) '"');
+        for (int i = 0; i < value.length(); ) {
+            if (value.charAt(i) == '"') {
+                ensure(1);
+                buffer.put((byte) '"');
+            }
+            i += writeChar(value, i);
+        }
+        ensure(1);
+        buffer.put((byte) '"');
+        return this;
+    }
+
+    // Writes an amount rounded to the centavo, for example -1234.50
+    CsvChannelWriter amount(double amount) throws IOException {
+        return centavos(PayrollTotals.toCentavos(amount));
+    }
+
+    CsvChannelWriter centavos(long centavos) throws IOException {
+        separate();
+        ensure(digits.length + 2);
+        if (centavos < 0) {
+            buffer.put((byte) '-');
+            centavos = -centavos;
+        }
+        int position = digits.length;
+        digits[--position] = (byte) ('0' + centavos % 10);
+        centavos /= 10;
+        digits[--position] = (byte) ('0' + centavos % 10);
+        centavos /= 10;
+        digits[--position] = '.';
+        do {
+            digits[--position] = (byte) ('0' + centavos % 10);
+            centavos /= 10;
+        } while (centavos > 0);
+        buffer.put(digits, position, digits.length - position);
+        return this;
+    }
+
+    CsvChannelWriter endRow() throws IOException {
+        ensure(2);
+        buffer.put((byte) '\r');
+        buffer.put((byte) '\n');
+        firstField = true;
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void separate() throws IOException {
+        if (firstField) {
+            firstField = false;
+            return;
+        }
+        ensure(1);
+        buffer.put((byte) ',');
+    }
+
+    // UTF-8 encodes the text without creating a byte array
+    private void writeText(String value) throws IOException {
+        for (int i = 0; i < value.length(); ) {
+            i += writeChar(value, i);
+        }
+    }
+
+    // Returns how many chars were consumed: 2 for a surrogate pair, otherwise 1
+    private int writeChar(String value, int index) throws IOException {
+        char c = value.charAt(index);
+        ensure(4);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            return 2;
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+        return 1;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.PayrollTotals;
+
+/**
+ * Formats peso amounts as ₱1,234.56 straight into a StringBuilder. Unlike
+ * NumberFormat it keeps no state, so one instance is not needed per thread,
+ * and it allocates nothing besides what the builder grows by. Amounts are
+ * rounded half up to the centavo, the same way PayrollTotals rounds them.
+ */
+public final class MoneyFormatter {
+    public static final char PESO_SIGN = '₱';
+
+    private MoneyFormatter() {
+    }
+
+    /**
+     * Appends an amount as pesos with thousands separators and two decimals
+     * @param out The builder to append to
+     * @param amount The amount in pesos
+     * @return The same builder
+     */
+    public static StringBuilder appendPesos(StringBuilder out, double amount) {
+        long centavos = PayrollTotals.toCentavos(amount);
+        if (centavos < 0) {
+            out.append('-');
+            centavos = -centavos;
+        }
+        out.append(PESO_SIGN);
+        appendGrouped(out, centavos / 100);
+        long cents = centavos % 100;
+        out.append('.');
+        if (cents < 10) {
+            out.append('0');
+        }
+        return out.append(cents);
+    }
+
+    public static String formatPesos(double amount) {
+        return appendPesos(new StringBuilder(16), amount).toString();
+    }
+
+    // Whole pesos with a comma every three digits
+    private static void appendGrouped(StringBuilder out, long pesos) {
+        if (pesos < 1000) {
+            out.append(pesos);
+            return;
+        }
+        appendGrouped(out, pesos / 1000);
+        long group = pesos % 1000;
+        out.append(',');
+        if (group < 100) {
+            out.append('0');
+        }
+        if (group < 10) {
+            out.append('0');
+        }
+        out.append(group);
+    }
+}
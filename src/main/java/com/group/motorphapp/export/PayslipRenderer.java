@@ -0,0 +1,81 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayrollEntry;
+
+/**
+ * Turns a computed payroll entry into the printable payslip shown by the
+ * payroll form, the employee view and the bulk export. The layout comes
+ * from a compiled PayslipTemplate. A renderer reuses one buffer between
+ * payslips, so each thread needs its own instance.
+ */
+public class PayslipRenderer {
+    public enum Format {
+        TEXT("txt"),
+        HTML("html");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final PayslipTemplate template;
+    private final StringBuilder payslip = new StringBuilder(2048);
+
+    public PayslipRenderer() {
+        this(PayslipTemplate.getDefault());
+    }
+
+    public PayslipRenderer(PayslipTemplate template) {
+        this.template = template;
+    }
+
+    /**
+     * Renders a payslip in the given format
+     * @param employee The employee, for the government ID numbers
+     * @param entry The employee's payroll entry
+     * @param format Plain text or HTML
+     * @return The rendered payslip
+     */
+    public String render(Employee employee, PayrollEntry entry, Format format) {
+        String text = renderText(employee, entry);
+        return format == Format.HTML ? toHtml(employee, text) : text;
+    }
+
+    /**
+     * Renders a payslip as fixed-width text
+     * @param employee The employee, for the government ID numbers
+     * @param entry The employee's payroll entry
+     * @return The payslip text
+     */
+    public String renderText(Employee employee, PayrollEntry entry) {
+        payslip.setLength(0);
+        return template.render(payslip, employee, entry).toString();
+    }
+
+    // File name of an employee's payslip inside the archive
+    public static String fileName(PayrollEntry entry, Format format) {
+        return "payslip-" + entry.getEmployeeNumber() + "-" + entry.getPayPeriod().getStartDate()
+                + "_" + entry.getPayPeriod().getEndDate() + "." + format.getExtension();
+    }
+
+    private static String toHtml(Employee employee, String text) {
+        StringBuilder html = new StringBuilder(text.length() + 256);
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>Payslip ")
+                .append(escape(employee.getEmployeeNumber()))
+                .append("</title></head>\n<body><pre>\n")
+                .append(escape(text))
+                .append("</pre></body></html>\n");
+        return html.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,227 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayrollEntry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A payslip layout parsed once into literal text and field segments.
+ * Fields are written as ${name}, for example ${employeeNumber} or
+ * ${netPay}; money fields come out as ₱1,234.56. Rendering walks the
+ * segments and appends to a StringBuilder, with no parsing or format
+ * strings per payslip. A compiled template is immutable and can be shared
+ * between threads.
+ */
+public class PayslipTemplate {
+    // Set -Dmotorph.payslip.template=<file> to print payslips with another layout
+    public static final String TEMPLATE_PROPERTY = "motorph.payslip.template";
+
+    // Weeks in an average month, for the weekly figures
+    private static final double WEEKS_PER_MONTH = 4.33;
+
+    private static final String DEFAULT_LAYOUT =
+            "=====================================\n" +
+            "           MOTORPH PAYSLIP          \n" +
+            "=====================================\n\n" +
+            "Employee Number: ${employeeNumber}\n" +
+            "Employee Name: ${lastName}, ${firstName}\n" +
+            "Position: ${position}\n" +
+            "SSS Number: ${sssNumber}\n" +
+            "PhilHealth Number: ${philhealthNumber}\n" +
+            "Pag-IBIG Number: ${pagibigNumber}\n" +
+            "Pay Period: ${periodStart} to ${periodEnd}\n\n" +
+            "MONTHLY EARNINGS:\n" +
+            "Basic Pay:          ${basicPay}\n" +
+            "Allowances:\n" +
+            "  Rice Subsidy:     ${riceSubsidy}\n" +
+            "  Phone Allowance:  ${phoneAllowance}\n" +
+            "  Clothing Allow.:  ${clothingAllowance}\n" +
+            "Total Allowances:   ${totalAllowances}\n" +
+            "Gross Pay:          ${grossPay}\n\n" +
+            "WEEKLY EARNINGS:\n" +
+            "Basic Pay:          ${weeklyBasicPay}\n" +
+            "Total Allowances:   ${weeklyAllowances}\n" +
+            "Gross Pay:          ${weeklyGrossPay}\n\n" +
+            "MONTHLY DEDUCTIONS:\n" +
+            "SSS:                ${sss}\n" +
+            "PhilHealth:         ${philhealth}\n" +
+            "Pag-IBIG:           ${pagibig}\n" +
+            "Withholding Tax:    ${withholdingTax}\n" +
+            "Total Deductions:   ${totalDeductions}\n\n" +
+            "WEEKLY DEDUCTIONS:\n" +
+            "Total Deductions:   ${weeklyDeductions}\n\n" +
+            "=====================================\n" +
+            "MONTHLY NET PAY:    ${netPay}\n" +
+            "WEEKLY NET PAY:     ${weeklyNetPay}\n" +
+            "=====================================\n";
+
+    private static final Map<String, Segment> FIELDS = new HashMap<>();
+
+    static {
+        text("employeeNumber", (employee, entry) -> employee.getEmployeeNumber());
+        text("lastName", (employee, entry) -> employee.getLastName());
+        text("firstName", (employee, entry) -> employee.getFirstName());
+        text("position", (employee, entry) -> employee.getPosition());
+        text("supervisor", (employee, entry) -> employee.getSupervisor());
+        text("sssNumber", (employee, entry) -> employee.getSssNumber());
+        text("philhealthNumber", (employee, entry) -> employee.getPhilhealthNumber());
+        text("pagibigNumber", (employee, entry) -> employee.getPagibigNumber());
+        text("tinNumber", (employee, entry) -> employee.getTinNumber());
+        text("periodStart", (employee, entry) -> entry.getPayPeriod().getStartDate());
+        text("periodEnd", (employee, entry) -> entry.getPayPeriod().getEndDate());
+
+        FIELDS.put("basicSalary", (out, employee, entry) -> MoneyFormatter.appendPesos(out, employee.getBasicSalary()));
+        money("basicPay", PayrollEntry::getGrossPay);
+        money("riceSubsidy", PayrollEntry::getRiceSubsidy);
+        money("phoneAllowance", PayrollEntry::getPhoneAllowance);
+        money("clothingAllowance", PayrollEntry::getClothingAllowance);
+        money("totalAllowances", PayrollEntry::getTotalAllowances);
+        money("grossPay", PayrollEntry::getTotalGrossPay);
+        money("sss", PayrollEntry::getSssContribution);
+        money("philhealth", PayrollEntry::getPhilhealthContribution);
+        money("pagibig", PayrollEntry::getPagibigContribution);
+        money("totalContributions", PayrollEntry::getTotalContributions);
+        money("withholdingTax", PayrollEntry::getWithholdingTax);
+        money("totalDeductions", PayrollEntry::getTotalDeductions);
+        money("netPay", PayrollEntry::getNetPay);
+        money("weeklyBasicPay", entry -> entry.getGrossPay() / WEEKS_PER_MONTH);
+        money("weeklyAllowances", entry -> entry.getTotalAllowances() / WEEKS_PER_MONTH);
+        money("weeklyGrossPay", entry -> entry.getGrossPay() / WEEKS_PER_MONTH
+                + entry.getTotalAllowances() / WEEKS_PER_MONTH);
+        money("weeklyDeductions", entry -> entry.getTotalContributions() / WEEKS_PER_MONTH
+                + entry.getWithholdingTax() / WEEKS_PER_MONTH);
+        money("weeklyNetPay", entry -> entry.getNetPay() / WEEKS_PER_MONTH);
+    }
+
+    private static volatile PayslipTemplate defaultTemplate;
+
+    private final Segment[] segments;
+    private final int expectedLength;
+
+    private PayslipTemplate(Segment[] segments, int expectedLength) {
+        this.segments = segments;
+        this.expectedLength = expectedLength;
+    }
+
+    /**
+     * Parses a layout into a template
+     * @param layout The layout text with ${field} placeholders
+     * @return The compiled template
+     * @throws IllegalArgumentException If a placeholder is unclosed or names an unknown field
+     */
+    public static PayslipTemplate compile(String layout) {
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (position < layout.length()) {
+            int open = layout.indexOf("${", position);
+            if (open < 0) {
+                open = layout.length();
+            }
+            if (open > position) {
+                String literal = layout.substring(position, open);
+                segments.add((out, employee, entry) -> out.append(literal));
+                literalLength += literal.length();
+            }
+            if (open == layout.length()) {
+                break;
+            }
+            int close = layout.indexOf('}', open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at position " + open);
+            }
+            String name = layout.substring(open + 2, close).trim();
+            Segment field = FIELDS.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown payslip field: " + name);
+            }
+            segments.add(field);
+            position = close + 1;
+        }
+        // Room for the fields on top of the fixed text
+        return new PayslipTemplate(segments.toArray(new Segment[0]), literalLength + segments.size() * 16);
+    }
+
+    /**
+     * Gets the standard payslip template, or the one named by -Dmotorph.payslip.template
+     * @return The compiled template
+     */
+    public static PayslipTemplate getDefault() {
+        PayslipTemplate template = defaultTemplate;
+        if (template == null) {
+            synchronized (PayslipTemplate.class) {
+                template = defaultTemplate;
+                if (template == null) {
+                    template = loadDefault();
+                    defaultTemplate = template;
+                }
+            }
+        }
+        return template;
+    }
+
+    private static PayslipTemplate loadDefault() {
+        String file = System.getProperty(TEMPLATE_PROPERTY);
+        if (file != null) {
+            Path path = Paths.get(file);
+            try {
+                return compile(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error loading payslip template " + path + ", using the standard layout: " + e.getMessage());
+            }
+        }
+        return compile(DEFAULT_LAYOUT);
+    }
+
+    // Names that can be used as ${name}
+    public static Set<String> getFieldNames() {
+        return Collections.unmodifiableSet(FIELDS.keySet());
+    }
+
+    /**
+     * Appends a payslip to a builder
+     * @param out The builder to append to
+     * @param employee The employee, for the name and government ID numbers
+     * @param entry The employee's payroll entry
+     * @return The same builder
+     */
+    public StringBuilder render(StringBuilder out, Employee employee, PayrollEntry entry) {
+        out.ensureCapacity(out.length() + expectedLength);
+        for (Segment segment : segments) {
+            segment.appendTo(out, employee, entry);
+        }
+        return out;
+    }
+
+    public String render(Employee employee, PayrollEntry entry) {
+        return render(new StringBuilder(expectedLength), employee, entry).toString();
+    }
+
+    private static void text(String name, TextField value) {
+        FIELDS.put(name, (out, employee, entry) -> out.append(value.get(employee, entry)));
+    }
+
+    private static void money(String name, ToDoubleFunction<PayrollEntry> amount) {
+        FIELDS.put(name, (out, employee, entry) -> MoneyFormatter.appendPesos(out, amount.applyAsDouble(entry)));
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder out, Employee employee, PayrollEntry entry);
+    }
+
+    private interface TextField {
+        Object get(Employee employee, PayrollEntry entry);
+    }
+}
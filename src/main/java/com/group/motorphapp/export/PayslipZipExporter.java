@@ -0,0 +1,165 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollSystem;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the payslip of every employee for a pay period into one zip file.
+ * Render threads compute and format payslips and hand them over through a
+ * small bounded queue; the calling thread is the only one writing the
+ * archive. At most a queue's worth of payslips is held in memory, however
+ * many employees there are.
+ */
+public class PayslipZipExporter {
+    private final PayrollSystem payrollSystem;
+    private final int renderThreads;
+
+    public PayslipZipExporter(PayrollSystem payrollSystem) {
+        this(payrollSystem, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public PayslipZipExporter(PayrollSystem payrollSystem, int renderThreads) {
+        if (renderThreads < 1) {
+            throw new IllegalArgumentException("At least one render thread is required.");
+        }
+        this.payrollSystem = payrollSystem;
+        this.renderThreads = renderThreads;
+    }
+
+    /**
+     * Exports every employee's payslip for a pay period
+     * @param payPeriod The pay period
+     * @param zipFile The archive to create; replaced only once the export succeeds
+     * @param format Plain text or HTML payslips
+     * @return The number of payslips written
+     * @throws IOException If the archive cannot be written
+     */
+    public int export(PayPeriod payPeriod, Path zipFile, PayslipRenderer.Format format) throws IOException {
+        return export(payPeriod, zipFile, format, null);
+    }
+
+    /**
+     * Exports every employee's payslip for a pay period, reporting progress
+     * @param payPeriod The pay period
+     * @param zipFile The archive to create; replaced only once the export succeeds
+     * @param format Plain text or HTML payslips
+     * @param progress Called on the writing thread with the count written so far, or null
+     * @return The number of payslips written
+     * @throws IOException If the archive cannot be written
+     */
+    public int export(PayPeriod payPeriod, Path zipFile, PayslipRenderer.Format format,
+                      IntConsumer progress) throws IOException {
+        List<Employee> employees = new ArrayList<>(payrollSystem.getAllEmployees());
+        BlockingQueue<RenderedPayslip> queue = new ArrayBlockingQueue<>(renderThreads * 4);
+        AtomicInteger nextEmployee = new AtomicInteger();
+        ExecutorService renderers = Executors.newFixedThreadPool(renderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payslip-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int t = 0; t < renderThreads; t++) {
+            renderers.execute(() -> {
+                PayslipRenderer renderer = new PayslipRenderer();
+                int index;
+                while ((index = nextEmployee.getAndIncrement()) < employees.size()) {
+                    RenderedPayslip rendered;
+                    try {
+                        Employee employee = employees.get(index);
+                        PayrollEntry entry = payrollSystem.getPayslip(employee, payPeriod);
+                        rendered = new RenderedPayslip(PayslipRenderer.fileName(entry, format),
+                                renderer.render(employee, entry, format).getBytes(StandardCharsets.UTF_8), null);
+                    } catch (RuntimeException e) {
+                        rendered = new RenderedPayslip(null, null, e);
+                    }
+                    try {
+                        queue.put(rendered);
+                    } catch (InterruptedException e) {
+                        // The writer gave up; stop rendering
+                        return;
+                    }
+                }
+            });
+        }
+        renderers.shutdown();
+
+        Path directory = zipFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path tempFile = Files.createTempFile(directory, "payslips", ".zip.tmp");
+        int written = 0;
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(tempFile), 1 << 16);
+                 ZipOutputStream zip = new ZipOutputStream(file)) {
+                while (written < employees.size()) {
+                    RenderedPayslip rendered = queue.take();
+                    if (rendered.failure != null) {
+                        throw new IllegalStateException("Cannot render payslip: " + rendered.failure.getMessage(),
+                                rendered.failure);
+                    }
+                    zip.putNextEntry(new ZipEntry(rendered.fileName));
+                    zip.write(rendered.content);
+                    zip.closeEntry();
+                    written++;
+                    if (progress != null) {
+                        progress.accept(written);
+                    }
+                }
+            }
+            Files.move(tempFile, zipFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Payslip export was interrupted", e);
+        } finally {
+            renderers.shutdownNow();
+            Files.deleteIfExists(tempFile);
+        }
+
+        try {
+            renderers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Exported " + written + " payslips for " + payPeriod + " to " + zipFile);
+        return written;
+    }
+
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    // One rendered payslip, or the error that stopped it
+    private static final class RenderedPayslip {
+        private final String fileName;
+        private final byte[] content;
+        private final RuntimeException failure;
+
+        private RenderedPayslip(String fileName, byte[] content, RuntimeException failure) {
+            this.fileName = fileName;
+            this.content = content;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollRegister;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a payroll register to CSV for accounting. Rows are encoded
+ * straight into a reused direct buffer that is drained to a FileChannel
+ * when it fills, so no String is built per row or per amount. Amounts are
+ * plain decimals with two places (1234.56) so spreadsheets read them as
+ * numbers.
+ */
+public class RegisterCsvExporter {
+    public static final String HEADER = "Employee #,Last Name,First Name,Position,Basic Pay,SSS,PhilHealth,Pag-IBIG,"
+            + "Withholding Tax,Rice Subsidy,Phone Allowance,Clothing Allowance,Total Allowances,Gross Pay,Net Pay";
+
+    /**
+     * Exports every entry of a register
+     * @param register The computed payroll register
+     * @param csvFile The file to create; replaced only once the export succeeds
+     * @return The number of rows written, not counting the header
+     * @throws IOException If the file cannot be written
+     */
+    public int export(PayrollRegister register, Path csvFile) throws IOException {
+        Path directory = csvFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path tempFile = Files.createTempFile(directory, "register", ".csv.tmp");
+        int rows = 0;
+        try {
+            try (CsvChannelWriter csv = new CsvChannelWriter(tempFile)) {
+                csv.header(HEADER);
+                for (PayrollEntry entry : register.getEntries()) {
+                    writeRow(csv, entry);
+                    rows++;
+                }
+            }
+            Files.move(tempFile, csvFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return rows;
+    }
+
+    private static void writeRow(CsvChannelWriter csv, PayrollEntry entry) throws IOException {
+        csv.text(entry.getEmployeeNumber())
+                .text(entry.getLastName())
+                .text(entry.getFirstName())
+                .text(entry.getPosition())
+                .amount(entry.getGrossPay())
+                .amount(entry.getSssContribution())
+                .amount(entry.getPhilhealthContribution())
+                .amount(entry.getPagibigContribution())
+                .amount(entry.getWithholdingTax())
+                .amount(entry.getRiceSubsidy())
+                .amount(entry.getPhoneAllowance())
+                .amount(entry.getClothingAllowance())
+                .amount(entry.getTotalAllowances())
+                .amount(entry.getTotalGrossPay())
+                .amount(entry.getNetPay())
+                .endRow();
+    }
+}
@@ -0,0 +1,233 @@
+package com.group.motorphapp.export;
+
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollRegister;
+import com.group.motorphapp.model.PayrollSystem;
+import com.group.motorphapp.model.PayrollTotals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the monthly remittance lists for SSS, PhilHealth and Pag-IBIG and
+ * the BIR withholding tax summary. All four CSV files are filled in one
+ * pass over the payroll register: each entry adds a row to every report
+ * and its amounts to running centavo totals, which close each file as a
+ * TOTAL row. Nothing is collected in memory along the way. The reports
+ * are written to temporary files and replaced together: if any of them
+ * cannot be put in place, the earlier reports are restored, so the folder
+ * never holds a mix of old and new reports for a period.
+ */
+public class RemittanceReportWriter {
+    public enum Agency {
+        SSS("sss", "SSS #", "Monthly Compensation", "Employee Contribution") {
+            String idOf(Employee employee) {
+                return employee.getSssNumber();
+            }
+
+            double baseOf(PayrollEntry entry) {
+                return entry.getGrossPay();
+            }
+
+            double amountOf(PayrollEntry entry) {
+                return entry.getSssContribution();
+            }
+        },
+        PHILHEALTH("philhealth", "PhilHealth #", "Basic Pay", "Premium") {
+            String idOf(Employee employee) {
+                return employee.getPhilhealthNumber();
+            }
+
+            double baseOf(PayrollEntry entry) {
+                return entry.getGrossPay();
+            }
+
+            double amountOf(PayrollEntry entry) {
+                return entry.getPhilhealthContribution();
+            }
+        },
+        PAGIBIG("pagibig", "Pag-IBIG #", "Basic Pay", "Employee Contribution") {
+            String idOf(Employee employee) {
+                return employee.getPagibigNumber();
+            }
+
+            double baseOf(PayrollEntry entry) {
+                return entry.getGrossPay();
+            }
+
+            double amountOf(PayrollEntry entry) {
+                return entry.getPagibigContribution();
+            }
+        },
+        BIR("bir-withholding", "TIN #", "Taxable Income", "Tax Withheld") {
+            String idOf(Employee employee) {
+                return employee.getTinNumber();
+            }
+
+            double baseOf(PayrollEntry entry) {
+                return entry.getTaxableIncome();
+            }
+
+            double amountOf(PayrollEntry entry) {
+                return entry.getWithholdingTax();
+            }
+        };
+
+        private final String filePrefix;
+        private final String header;
+
+        Agency(String filePrefix, String idColumn, String baseColumn, String amountColumn) {
+            this.filePrefix = filePrefix;
+            this.header = "Employee #,Last Name,First Name," + idColumn + "," + baseColumn + "," + amountColumn;
+        }
+
+        abstract String idOf(Employee employee);
+
+        abstract double baseOf(PayrollEntry entry);
+
+        abstract double amountOf(PayrollEntry entry);
+
+        // File name of this agency's report for a pay period
+        public String fileName(PayPeriod payPeriod) {
+            return filePrefix + "-" + payPeriod.getStartDate() + "_" + payPeriod.getEndDate() + ".csv";
+        }
+    }
+
+    private final PayrollSystem payrollSystem;
+
+    public RemittanceReportWriter(PayrollSystem payrollSystem) {
+        this.payrollSystem = payrollSystem;
+    }
+
+    /**
+     * Writes all four reports for a payroll register
+     * @param register The computed payroll register
+     * @param directory The directory to write the reports to
+     * @return The files written, in SSS, PhilHealth, Pag-IBIG, BIR order
+     * @throws IOException If a report cannot be written; the reports already there are kept then
+     */
+    public List<Path> write(PayrollRegister register, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Agency[] agencies = Agency.values();
+        Path[] tempFiles = new Path[agencies.length];
+        CsvChannelWriter[] reports = new CsvChannelWriter[agencies.length];
+        long[] baseTotals = new long[agencies.length];
+        long[] amountTotals = new long[agencies.length];
+
+        try {
+            for (int a = 0; a < agencies.length; a++) {
+                tempFiles[a] = Files.createTempFile(directory, agencies[a].filePrefix, ".csv.tmp");
+                reports[a] = new CsvChannelWriter(tempFiles[a]);
+                reports[a].header(agencies[a].header);
+            }
+
+            for (PayrollEntry entry : register.getEntries()) {
+                // The register keeps names; IDs come from the employee record
+                Employee employee = payrollSystem.findEmployee(entry.getEmployeeNumber());
+                for (int a = 0; a < agencies.length; a++) {
+                    long base = PayrollTotals.toCentavos(agencies[a].baseOf(entry));
+                    long amount = PayrollTotals.toCentavos(agencies[a].amountOf(entry));
+                    reports[a].text(entry.getEmployeeNumber())
+                            .text(entry.getLastName())
+                            .text(entry.getFirstName())
+                            .text(employee == null ? "" : agencies[a].idOf(employee))
+                            .centavos(base)
+                            .centavos(amount)
+                            .endRow();
+                    baseTotals[a] += base;
+                    amountTotals[a] += amount;
+                }
+            }
+
+            for (int a = 0; a < agencies.length; a++) {
+                reports[a].text("TOTAL").text("").text("").text("")
+                        .centavos(baseTotals[a])
+                        .centavos(amountTotals[a])
+                        .endRow();
+                reports[a].close();
+                reports[a] = null;
+            }
+
+            List<Path> files = install(register.getPayPeriod(), directory, tempFiles);
+            for (int a = 0; a < agencies.length; a++) {
+                System.out.println(String.format("%s remittance %s: %d employees, total %.2f",
+                        agencies[a], register.getPayPeriod(), register.getEmployeeCount(),
+                        PayrollTotals.toPesos(amountTotals[a])));
+            }
+            return files;
+        } finally {
+            for (int a = 0; a < agencies.length; a++) {
+                if (reports[a] != null) {
+                    try {
+                        reports[a].close();
+                    } catch (IOException e) {
+                        System.err.println("Error closing " + agencies[a] + " report: " + e.getMessage());
+                    }
+                }
+                if (tempFiles[a] != null) {
+                    Files.deleteIfExists(tempFiles[a]);
+                }
+            }
+        }
+    }
+
+    // Moves every written report into place, or puts the earlier reports back if one move fails
+    private static List<Path> install(PayPeriod payPeriod, Path directory, Path[] tempFiles) throws IOException {
+        Agency[] agencies = Agency.values();
+        Path[] targets = new Path[agencies.length];
+        Path[] backups = new Path[agencies.length];
+        int installed = 0;
+
+        try {
+            for (int a = 0; a < agencies.length; a++) {
+                targets[a] = directory.resolve(agencies[a].fileName(payPeriod));
+                if (Files.exists(targets[a])) {
+                    Path backup = Files.createTempFile(directory, agencies[a].filePrefix, ".csv.bak");
+                    try {
+                        Files.move(targets[a], backup, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        Files.deleteIfExists(backup);
+                        throw e;
+                    }
+                    backups[a] = backup;
+                }
+                Files.move(tempFiles[a], targets[a], StandardCopyOption.REPLACE_EXISTING);
+                installed++;
+            }
+        } catch (IOException e) {
+            for (int a = 0; a < agencies.length; a++) {
+                try {
+                    if (a < installed) {
+                        Files.deleteIfExists(targets[a]);
+                    }
+                    if (backups[a] != null) {
+                        Files.move(backups[a], targets[a], StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException restoreError) {
+                    System.err.println("Error restoring " + agencies[a] + " report from " + backups[a]
+                            + ": " + restoreError.getMessage());
+                }
+            }
+            throw e;
+        }
+
+        // Every new report is in place; a leftover copy of an old one is only clutter
+        for (Path backup : backups) {
+            if (backup != null) {
+                try {
+                    Files.deleteIfExists(backup);
+                } catch (IOException e) {
+                    System.err.println("Error deleting old report " + backup + ": " + e.getMessage());
+                }
+            }
+        }
+        return new ArrayList<>(Arrays.asList(targets));
+    }
+}
@@ -49,7 +49,7 @@ public class DataLoader {
                 String pagibigNumber = fields[9];
                 // fields[10] is employment status
                 String position = fields[11];
-                // Skip immediate supervisor field[12]
+                String supervisor = fields[12];
                 double basicSalary = Double.parseDouble(fields[13].replace(",", ""));
                 double riceSubsidy = Double.parseDouble(fields[14].replace(",", ""));
                 double phoneAllowance = Double.parseDouble(fields[15].replace(",", ""));
@@ -60,6 +60,7 @@ public class DataLoader {
                         sssNumber, philhealthNumber, pagibigNumber,
                         tinNumber, position, riceSubsidy, phoneAllowance, clothingAllowance
                 );
+                employee.setSupervisor(supervisor);
 
                 employees.add(employee);
             }
@@ -157,7 +158,7 @@ public class DataLoader {
                     employee.getPagibigNumber(),
                     "Regular", // Status placeholder
                     employee.getPosition(),
-                    "", // Supervisor placeholder
+                    employee.getSupervisor(),
                     employee.getBasicSalary(),
                     employee.getRiceSubsidy(),
                     employee.getPhoneAllowance(),
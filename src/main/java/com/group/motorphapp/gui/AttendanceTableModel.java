@@ -0,0 +1,140 @@
+package com.group.motorphapp.gui;
+
+import com.group.motorphapp.model.PayrollSystem;
+import com.group.motorphapp.model.TimeLog;
+import com.group.motorphapp.model.TimeLogListener;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only table of one employee's time logs. Only the row count is known
+ * up front; rows are fetched from the attendance store a page at a time as
+ * the table asks for them, and a few recent pages are kept, so memory stays
+ * the same however long the history is. Date filtering and date order are
+ * answered by the store, not by a row sorter over every row.
+ */
+public class AttendanceTableModel extends AbstractTableModel implements TimeLogListener {
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 8;
+    // Bounds used for an open end of the date range
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+    private static final String[] COLUMN_NAMES = {"Date", "Time In", "Time Out", "Hours"};
+
+    private final PayrollSystem payrollSystem;
+    private final String employeeNumber;
+    private LocalDate startDate = EARLIEST;
+    private LocalDate endDate = LATEST;
+    private boolean newestFirst;
+    private int rowCount;
+
+    // Least recently used page is dropped first
+    private final Map<Integer, List<TimeLog>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<TimeLog>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    public AttendanceTableModel(PayrollSystem payrollSystem, String employeeNumber) {
+        this.payrollSystem = payrollSystem;
+        this.employeeNumber = employeeNumber;
+        payrollSystem.addTimeLogListener(this);
+        reload();
+    }
+
+    // Stops following time log edits, as when the window closes
+    public void dispose() {
+        payrollSystem.removeTimeLogListener(this);
+    }
+
+    /**
+     * Limits the table to a date range
+     * @param startDate The first date to show, or null for no lower limit
+     * @param endDate The last date to show, or null for no upper limit
+     */
+    public void setDateRange(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate == null ? EARLIEST : startDate;
+        this.endDate = endDate == null ? LATEST : endDate;
+        reload();
+    }
+
+    public void setNewestFirst(boolean newestFirst) {
+        if (this.newestFirst != newestFirst) {
+            this.newestFirst = newestFirst;
+            reload();
+        }
+    }
+
+    public TimeLog getTimeLogAt(int row) {
+        List<TimeLog> page = pages.get(row / PAGE_SIZE);
+        if (page == null) {
+            int offset = row / PAGE_SIZE * PAGE_SIZE;
+            page = payrollSystem.getEmployeeTimeLogs(employeeNumber, startDate, endDate, offset, PAGE_SIZE, newestFirst);
+            pages.put(row / PAGE_SIZE, page);
+        }
+        int index = row % PAGE_SIZE;
+        return index < page.size() ? page.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        TimeLog log = getTimeLogAt(row);
+        if (log == null) {
+            return null;
+        }
+        switch (column) {
+            case 0:
+                return log.getDate();
+            case 1:
+                return log.getTimeIn();
+            case 2:
+                return log.getTimeOut();
+            default:
+                if (log.getTimeIn() == null || log.getTimeOut() == null) {
+                    return null;
+                }
+                return String.format("%.2f", Duration.between(log.getTimeIn(), log.getTimeOut()).toMinutes() / 60.0);
+        }
+    }
+
+    @Override
+    public void timeLogChanged(String employeeNumber, LocalDate date) {
+        if (!this.employeeNumber.equals(employeeNumber)) {
+            return;
+        }
+        // Edits can come from worker threads; Swing models change on the EDT only
+        if (SwingUtilities.isEventDispatchThread()) {
+            reload();
+        } else {
+            SwingUtilities.invokeLater(this::reload);
+        }
+    }
+
+    private void reload() {
+        pages.clear();
+        rowCount = payrollSystem.countEmployeeTimeLogs(employeeNumber, startDate, endDate);
+        fireTableDataChanged();
+    }
+}
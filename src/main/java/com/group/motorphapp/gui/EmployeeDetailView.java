@@ -1,6 +1,9 @@
 package com.group.motorphapp.gui;
 
+import com.group.motorphapp.export.PayslipRenderer;
 import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollEntry;
 import com.group.motorphapp.model.PayrollSystem;
 
 import javax.swing.*;
@@ -19,13 +22,19 @@ public class EmployeeDetailView extends JFrame {
     private JComboBox<Integer> yearSelector;
     private JPanel employeeDetailsPanel;
     private JPanel salaryDetailsPanel;
+    private AttendanceTableModel attendanceModel;
+    private JTextField attendanceFromField;
+    private JTextField attendanceToField;
+    private JLabel attendanceCountLabel;
+    // Payslips are computed in the background; null result means no time logs in the month
+    private final LatestTaskRunner<String> payslipTask = new LatestTaskRunner<>();
 
     public EmployeeDetailView(Employee employee, PayrollSystem payrollSystem) {
         this.employee = employee;
         this.payrollSystem = payrollSystem;
 
         setTitle("Employee Details: " + employee.getFirstName() + " " + employee.getLastName());
-        setSize(600, 700);
+        setSize(600, 800);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setLocationRelativeTo(null);
 
@@ -65,6 +74,10 @@ public class EmployeeDetailView extends JFrame {
         yearSelector = new JComboBox<>(years);
         datePanel.add(yearSelector);
 
+        // A payslip still being computed, or already shown, is for the old month
+        monthSelector.addActionListener(e -> periodChanged());
+        yearSelector.addActionListener(e -> periodChanged());
+
         // Create compute button
         JButton computeButton = new JButton("Compute Salary");
         computeButton.addActionListener(new ActionListener() {
@@ -87,6 +100,8 @@ public class EmployeeDetailView extends JFrame {
         mainPanel.add(datePanel);
         mainPanel.add(Box.createRigidArea(new Dimension(0, 10)));
         mainPanel.add(salaryDetailsPanel);
+        mainPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        mainPanel.add(createAttendancePanel());
 
         // Add main panel to scroll pane
         JScrollPane scrollPane = new JScrollPane(mainPanel);
@@ -138,81 +153,145 @@ public class EmployeeDetailView extends JFrame {
         return panel;
     }
 
+    // The employee's punches, paged in from the attendance store as the table scrolls
+    private JPanel createAttendancePanel() {
+        JPanel panel = new JPanel(new BorderLayout(0, 5));
+        panel.setBorder(BorderFactory.createTitledBorder("Attendance"));
+        panel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        attendanceModel = new AttendanceTableModel(payrollSystem, employee.getEmployeeNumber());
+        JTable attendanceTable = new JTable(attendanceModel);
+        attendanceTable.getTableHeader().setReorderingAllowed(false);
+        attendanceTable.setFillsViewportHeight(true);
+        JScrollPane tableScrollPane = new JScrollPane(attendanceTable);
+        tableScrollPane.setPreferredSize(new Dimension(540, 220));
+
+        // Date range filter (YYYY-MM-DD, blank for no limit) and date order
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        attendanceFromField = new JTextField(8);
+        attendanceToField = new JTextField(8);
+        JButton applyButton = new JButton("Apply");
+        applyButton.addActionListener(e -> applyAttendanceFilter());
+        JCheckBox newestFirstBox = new JCheckBox("Newest first");
+        newestFirstBox.addActionListener(e -> attendanceModel.setNewestFirst(newestFirstBox.isSelected()));
+        attendanceCountLabel = new JLabel();
+        filterPanel.add(new JLabel("From:"));
+        filterPanel.add(attendanceFromField);
+        filterPanel.add(new JLabel("To:"));
+        filterPanel.add(attendanceToField);
+        filterPanel.add(applyButton);
+        filterPanel.add(newestFirstBox);
+        filterPanel.add(attendanceCountLabel);
+
+        attendanceModel.addTableModelListener(e -> updateAttendanceCount());
+        updateAttendanceCount();
+
+        panel.add(filterPanel, BorderLayout.NORTH);
+        panel.add(tableScrollPane, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private void applyAttendanceFilter() {
+        try {
+            String from = attendanceFromField.getText().trim();
+            String to = attendanceToField.getText().trim();
+            java.time.LocalDate startDate = from.isEmpty() ? null : java.time.LocalDate.parse(from);
+            java.time.LocalDate endDate = to.isEmpty() ? null : java.time.LocalDate.parse(to);
+            if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+                JOptionPane.showMessageDialog(this, "End date cannot be before start date.", "Input Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            attendanceModel.setDateRange(startDate, endDate);
+        } catch (java.time.format.DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Invalid date format. Please use YYYY-MM-DD format.", "Input Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void updateAttendanceCount() {
+        int count = attendanceModel.getRowCount();
+        attendanceCountLabel.setText(count + (count == 1 ? " time log" : " time logs"));
+    }
+
     private void computeSalary() {
         // Get selected month and year
         int selectedMonth = monthSelector.getSelectedIndex() + 1;
         int selectedYear = (Integer) yearSelector.getSelectedItem();
-
-        // Check if there are time logs for this employee in the selected month/year
         java.time.LocalDate startDate = java.time.LocalDate.of(selectedYear, selectedMonth, 1);
         java.time.LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        java.util.List<com.group.motorphapp.model.TimeLog> logs = payrollSystem.getEmployeeTimeLogs(employee.getEmployeeNumber(), startDate, endDate);
-        if (logs == null || logs.isEmpty()) {
+
+        showSalaryMessage("Computing salary for " + monthSelector.getSelectedItem() + " " + selectedYear + "...");
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        // The time log scan and the calculation run off the event dispatch thread
+        payslipTask.submit(() -> {
+            // Check if there are time logs for this employee in the selected month/year
+            java.util.List<com.group.motorphapp.model.TimeLog> logs = payrollSystem.getEmployeeTimeLogs(employee.getEmployeeNumber(), startDate, endDate);
+            if (logs == null || logs.isEmpty()) {
+                return null;
+            }
+
+            // Reuses the cached result when nothing it depends on has changed
+            PayrollEntry payslip = payrollSystem.getPayslip(employee, new PayPeriod(startDate, endDate));
+
+            // Same layout as the payroll form and the exported payslips; a renderer
+            // reuses its buffer, so each task gets its own
+            return new PayslipRenderer().renderText(employee, payslip);
+        }, this::showPayslip, e -> {
+            setCursor(Cursor.getDefaultCursor());
+            clearSalaryDetails();
+            JOptionPane.showMessageDialog(this, "Could not compute salary: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private void showPayslip(String payslipText) {
+        setCursor(Cursor.getDefaultCursor());
+        if (payslipText == null) {
+            clearSalaryDetails();
             JOptionPane.showMessageDialog(this, "No records found for the selected month/year.", "No Records", JOptionPane.WARNING_MESSAGE);
-            salaryDetailsPanel.removeAll();
-            salaryDetailsPanel.revalidate();
-            salaryDetailsPanel.repaint();
             return;
         }
 
-        // Use PayrollCalculator to compute gross pay from time logs
-        com.group.motorphapp.model.PayrollCalculator calculator = new com.group.motorphapp.model.PayrollCalculator();
-        double grossPay = calculator.calculateGrossPay(employee, logs);
-
-        double riceSubsidy = employee.getRiceSubsidy();
-        double phoneAllowance = employee.getPhoneAllowance();
-        double clothingAllowance = employee.getClothingAllowance();
-        double totalAllowances = riceSubsidy + phoneAllowance + clothingAllowance;
-        double grossSalary = grossPay + totalAllowances;
-
-        // Add salary components
-        JPanel detailsGrid = new JPanel(new java.awt.GridLayout(0, 2, 10, 5));
-        detailsGrid.add(new JLabel("Basic Salary:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", employee.getBasicSalary())));
-        detailsGrid.add(new JLabel("Rice Subsidy:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", riceSubsidy)));
-        detailsGrid.add(new JLabel("Phone Allowance:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", phoneAllowance)));
-        detailsGrid.add(new JLabel("Clothing Allowance:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", clothingAllowance)));
-        detailsGrid.add(new JLabel("Gross Monthly Salary:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", grossSalary)));
-
-        // Calculate deductions using grossPay
-        double sssDeduction = calculator.calculateSSSContribution(grossPay);
-        double philhealthDeduction = calculator.calculatePhilhealthContribution(grossPay);
-        double pagibigDeduction = calculator.calculatePagibigContribution(grossPay);
-        double withholdingTax = calculator.calculateWithholdingTax(grossPay - (sssDeduction + philhealthDeduction + pagibigDeduction));
-
-        // Add deduction details
-        detailsGrid.add(new JLabel("SSS Contribution:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", sssDeduction)));
-        detailsGrid.add(new JLabel("PhilHealth Contribution:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", philhealthDeduction)));
-        detailsGrid.add(new JLabel("Pag-IBIG Contribution:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", pagibigDeduction)));
-        detailsGrid.add(new JLabel("Withholding Tax:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", withholdingTax)));
-
-        // Calculate total deductions and net pay
-        double totalDeductions = sssDeduction + philhealthDeduction + pagibigDeduction + withholdingTax;
-        double netPay = grossSalary - totalDeductions;
-
-        // Add total deductions and net pay
-        detailsGrid.add(new JLabel("Total Deductions:"));
-        detailsGrid.add(new JLabel(String.format("₱%.2f", totalDeductions)));
-        detailsGrid.add(new JLabel("Net Pay:"));
-        JLabel netPayLabel = new JLabel(String.format("₱%.2f", netPay));
-        netPayLabel.setFont(new java.awt.Font(netPayLabel.getFont().getName(), java.awt.Font.BOLD, netPayLabel.getFont().getSize()));
-        detailsGrid.add(netPayLabel);
-
-        // Add details grid to salary panel
+        JTextArea payslipArea = new JTextArea(payslipText);
+        payslipArea.setEditable(false);
+        payslipArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        payslipArea.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        // Show the payslip in the salary panel
         salaryDetailsPanel.removeAll();
-        salaryDetailsPanel.add(detailsGrid);
+        salaryDetailsPanel.add(payslipArea);
         salaryDetailsPanel.revalidate();
         salaryDetailsPanel.repaint();
     }
 
+    private void showSalaryMessage(String message) {
+        JLabel label = new JLabel(message);
+        label.setAlignmentX(Component.LEFT_ALIGNMENT);
+        salaryDetailsPanel.removeAll();
+        salaryDetailsPanel.add(label);
+        salaryDetailsPanel.revalidate();
+        salaryDetailsPanel.repaint();
+    }
+
+    private void clearSalaryDetails() {
+        salaryDetailsPanel.removeAll();
+        salaryDetailsPanel.revalidate();
+        salaryDetailsPanel.repaint();
+    }
+
+    private void periodChanged() {
+        payslipTask.cancel();
+        setCursor(Cursor.getDefaultCursor());
+        clearSalaryDetails();
+    }
+
+    @Override
+    public void dispose() {
+        // Nothing is left to show the result in
+        payslipTask.cancel();
+        attendanceModel.dispose();
+        super.dispose();
+    }
+
     // Placeholder methods for calculating deductions
     // Replace these with your actual calculation logic
 
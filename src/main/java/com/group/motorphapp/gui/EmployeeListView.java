@@ -5,18 +5,24 @@ import com.group.motorphapp.model.PayrollSystem;
 import com.group.motorphapp.Main;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
-import java.util.List;
+import java.util.Set;
 
 public class EmployeeListView extends JFrame {
+    private static final int SEARCH_DELAY_MS = 150;
+
     private JTable employeeTable;
-    private DefaultTableModel tableModel;
+    private EmployeeTableModel tableModel;
     private PayrollSystem payrollSystem;
     private JButton viewEmployeeButton;
     private JButton newEmployeeButton;
     private JButton manageEmployeesButton; // New button for managing employees
+    private JTextField searchField;
+    private Timer searchTimer;
+    private JProgressBar loadProgressBar;
 
     public EmployeeListView() {
         setTitle("MotorPH Employee Management");
@@ -24,19 +30,18 @@ public class EmployeeListView extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
 
-        // Create table model with column names
-        String[] columnNames = {"Employee Number", "Last Name", "First Name",
-                "SSS Number", "PhilHealth Number", "TIN", "Pag-IBIG Number"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
+        // Create table model with columns; it follows roster changes itself
+        tableModel = new EmployeeTableModel(EmployeeTableModel.Column.EMPLOYEE_NUMBER,
+                EmployeeTableModel.Column.LAST_NAME, EmployeeTableModel.Column.FIRST_NAME,
+                EmployeeTableModel.Column.SSS_NUMBER, EmployeeTableModel.Column.PHILHEALTH_NUMBER,
+                EmployeeTableModel.Column.TIN, EmployeeTableModel.Column.PAGIBIG_NUMBER);
         employeeTable = new JTable(tableModel);
         employeeTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         employeeTable.getTableHeader().setReorderingAllowed(false);
 
+        // Installed once; it keeps the sort order as rows change
+        employeeTable.setRowSorter(new TableRowSorter<>(tableModel));
+
         // Auto-adjust column widths
         employeeTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
 
@@ -64,11 +69,66 @@ public class EmployeeListView extends JFrame {
         headerLabel.setFont(new Font("Arial", Font.BOLD, 20));
         headerLabel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
 
+        // Create search panel; the table is filtered once typing pauses
+        searchField = new JTextField(30);
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> refreshEmployeeTable());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        searchPanel.add(new JLabel("Search (name, position or ID):"));
+        searchPanel.add(searchField);
+
+        JPanel northPanel = new JPanel(new BorderLayout());
+        northPanel.add(headerLabel, BorderLayout.NORTH);
+        northPanel.add(searchPanel, BorderLayout.SOUTH);
+
         // Add components to the frame
         getContentPane().setLayout(new BorderLayout());
-        getContentPane().add(headerLabel, BorderLayout.NORTH);
+        getContentPane().add(northPanel, BorderLayout.NORTH);
         getContentPane().add(scrollPane, BorderLayout.CENTER);
-        getContentPane().add(buttonPanel, BorderLayout.SOUTH);
+
+        // Status bar showing data loading; hidden once everything is in
+        loadProgressBar = new JProgressBar(0, 100);
+        loadProgressBar.setStringPainted(true);
+        loadProgressBar.setVisible(false);
+        JPanel southPanel = new JPanel(new BorderLayout());
+        southPanel.add(buttonPanel, BorderLayout.CENTER);
+        southPanel.add(loadProgressBar, BorderLayout.SOUTH);
+        getContentPane().add(southPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Shows how far data loading has come. Viewing an employee waits until
+     * loading is done, since pay cannot be computed without attendance.
+     * @param message The loading step, such as "Loading attendance"
+     * @param percent How far the step is, or -1 if unknown
+     */
+    public void showLoadProgress(String message, int percent) {
+        loadProgressBar.setIndeterminate(percent < 0);
+        loadProgressBar.setValue(Math.max(0, percent));
+        loadProgressBar.setString(percent < 0 ? message + "..." : message + " " + percent + "%");
+        loadProgressBar.setVisible(true);
+        viewEmployeeButton.setEnabled(false);
+    }
+
+    public void hideLoadProgress() {
+        loadProgressBar.setVisible(false);
+        viewEmployeeButton.setEnabled(true);
     }
 
     // New method to open the employee management panel
@@ -81,32 +141,14 @@ public class EmployeeListView extends JFrame {
 
     public void setPayrollSystem(PayrollSystem payrollSystem) {
         this.payrollSystem = payrollSystem;
+        tableModel.setPayrollSystem(payrollSystem);
         refreshEmployeeTable();
     }
 
+    // Re-applies the search; edits to the roster reach the table on their own
     public void refreshEmployeeTable() {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        // Add employee data to the table
-        List<Employee> employees = payrollSystem.getAllEmployees();
-
-        for (Employee employee : employees) {
-            Object[] rowData = {
-                    employee.getEmployeeNumber(),
-                    employee.getLastName(),
-                    employee.getFirstName(),
-                    employee.getSssNumber(),
-                    employee.getPhilhealthNumber(),
-                    employee.getTinNumber(),
-                    employee.getPagibigNumber()
-            };
-            tableModel.addRow(rowData);
-        }
-
-        // Sort by employee number
-        TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(tableModel);
-        employeeTable.setRowSorter(sorter);
+        Set<String> matches = payrollSystem.searchEmployees(searchField.getText());
+        tableModel.setFilter(matches);
     }
 
     private void viewSelectedEmployee() {
@@ -114,7 +156,7 @@ public class EmployeeListView extends JFrame {
         if (selectedRow >= 0) {
             // Get the selected employee number (adjust index for sorted table)
             selectedRow = employeeTable.convertRowIndexToModel(selectedRow);
-            String employeeNumber = (String) tableModel.getValueAt(selectedRow, 0);
+            String employeeNumber = tableModel.getEmployeeAt(selectedRow).getEmployeeNumber();
             Employee selectedEmployee = findEmployeeByNumber(employeeNumber);
 
             if (selectedEmployee != null) {
@@ -132,11 +174,6 @@ public class EmployeeListView extends JFrame {
     }
 
     private Employee findEmployeeByNumber(String employeeNumber) {
-        for (Employee emp : payrollSystem.getAllEmployees()) {
-            if (emp.getEmployeeNumber().equals(employeeNumber)) {
-                return emp;
-            }
-        }
-        return null;
+        return payrollSystem.findEmployee(employeeNumber);
     }
 }
\ No newline at end of file
@@ -12,14 +12,13 @@ import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.List;
-import javax.swing.table.DefaultTableModel;
 
 
 public class EmployeeManagementPanel extends JPanel {
     private PayrollSystem payrollSystem;
     private EmployeeDataManager employeeDataManager;
     private JTable employeeTable;
-    private DefaultTableModel tableModel;
+    private EmployeeTableModel tableModel;
 
     // Form fields for employee data
     private JTextField txtEmployeeNumber;
@@ -83,14 +82,10 @@ public class EmployeeManagementPanel extends JPanel {
     private JPanel createTablePanel() {
         JPanel panel = new JPanel(new BorderLayout());
 
-        // Create table model
-        String[] columns = {"Employee Number", "Last Name", "First Name", "Position"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table cells non-editable
-            }
-        };
+        // Create table model; it follows roster changes itself
+        tableModel = new EmployeeTableModel(EmployeeTableModel.Column.EMPLOYEE_NUMBER,
+                EmployeeTableModel.Column.LAST_NAME, EmployeeTableModel.Column.FIRST_NAME,
+                EmployeeTableModel.Column.POSITION);
 
         // Create table
         employeeTable = new JTable(tableModel);
@@ -101,7 +96,7 @@ public class EmployeeManagementPanel extends JPanel {
             if (!e.getValueIsAdjusting()) {
                 int selectedRow = employeeTable.getSelectedRow();
                 if (selectedRow >= 0) {
-                    String employeeNumber = (String) tableModel.getValueAt(selectedRow, 0);
+                    String employeeNumber = tableModel.getEmployeeAt(selectedRow).getEmployeeNumber();
                     displayEmployeeData(employeeNumber);
                     btnUpdate.setEnabled(true);
                     btnDelete.setEnabled(true);
@@ -172,19 +167,7 @@ public class EmployeeManagementPanel extends JPanel {
     }
 
     private void loadEmployeeData() {
-        // Clear existing data
-        tableModel.setRowCount(0);
-
-        // Add employee data to table
-        for (Employee emp : payrollSystem.getAllEmployees()) {
-            Object[] row = {
-                    emp.getEmployeeNumber(),
-                    emp.getLastName(),
-                    emp.getFirstName(),
-                    emp.getPosition()
-            };
-            tableModel.addRow(row);
-        }
+        tableModel.setPayrollSystem(payrollSystem);
     }
 
     private void displayEmployeeData(String employeeNumber) {
@@ -236,6 +219,11 @@ public class EmployeeManagementPanel extends JPanel {
                     Double.parseDouble(txtPhoneAllowance.getText()),
                     Double.parseDouble(txtClothingAllowance.getText())
             );
+            // The form has no supervisor field; keep the current one
+            Employee existing = payrollSystem.findEmployee(employeeNumber);
+            if (existing != null) {
+                updatedEmployee.setSupervisor(existing.getSupervisor());
+            }
 
             // Update in memory first
             payrollSystem.updateEmployee(employeeNumber, updatedEmployee);
@@ -244,12 +232,6 @@ public class EmployeeManagementPanel extends JPanel {
             boolean success = employeeDataManager.updateEmployee(updatedEmployee);
 
             if (success) {
-                // Refresh the employee list in PayrollSystem
-                payrollSystem.setEmployees(employeeDataManager.getRefreshedEmployees());
-
-                // Refresh table
-                loadEmployeeData();
-
                 // Show success message
                 JOptionPane.showMessageDialog(this,
                         "Employee record updated successfully!",
@@ -266,6 +248,11 @@ public class EmployeeManagementPanel extends JPanel {
             JOptionPane.showMessageDialog(this,
                     "Please enter valid numeric values for salary and allowances.",
                     "Invalid Input", JOptionPane.WARNING_MESSAGE);
+        } catch (IllegalArgumentException e) {
+            // Duplicate government ID
+            JOptionPane.showMessageDialog(this,
+                    e.getMessage(),
+                    "Invalid Input", JOptionPane.WARNING_MESSAGE);
         }
     }
 
@@ -293,13 +280,6 @@ public class EmployeeManagementPanel extends JPanel {
                 boolean success = employeeDataManager.deleteEmployee(employeeNumber);
 
                 if (success) {
-                    // Refresh the employee and time log lists in PayrollSystem
-                    payrollSystem.setEmployees(employeeDataManager.getRefreshedEmployees());
-                    payrollSystem.setTimeLogs(employeeDataManager.getRefreshedTimeLogs());
-
-                    // Refresh table
-                    loadEmployeeData();
-
                     // Show success message
                     JOptionPane.showMessageDialog(this,
                             "Employee record deleted successfully!",
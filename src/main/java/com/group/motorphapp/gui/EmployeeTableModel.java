@@ -0,0 +1,262 @@
+package com.group.motorphapp.gui;
+
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.EmployeeListener;
+import com.group.motorphapp.model.PayrollSystem;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-only table of employees backed by the PayrollSystem roster. Cells
+ * are read from the employee records themselves, nothing is copied into
+ * row arrays, and roster changes fire events for the affected rows only,
+ * so selection and sorting survive an edit. A filter set, such as search
+ * results, limits which employees are shown.
+ */
+public class EmployeeTableModel extends AbstractTableModel implements EmployeeListener {
+    public enum Column {
+        EMPLOYEE_NUMBER("Employee Number", Employee::getEmployeeNumber),
+        LAST_NAME("Last Name", Employee::getLastName),
+        FIRST_NAME("First Name", Employee::getFirstName),
+        POSITION("Position", Employee::getPosition),
+        SSS_NUMBER("SSS Number", Employee::getSssNumber),
+        PHILHEALTH_NUMBER("PhilHealth Number", Employee::getPhilhealthNumber),
+        TIN("TIN", Employee::getTinNumber),
+        PAGIBIG_NUMBER("Pag-IBIG Number", Employee::getPagibigNumber);
+
+        private final String title;
+        private final Function<Employee, Object> value;
+
+        Column(String title, Function<Employee, Object> value) {
+            this.title = title;
+            this.value = value;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    private final Column[] columns;
+    private final List<Employee> rows = new ArrayList<>();
+    private final Map<String, Integer> rowByNumber = new HashMap<>();
+    private PayrollSystem payrollSystem;
+    private Set<String> filter;
+
+    public EmployeeTableModel(Column... columns) {
+        this.columns = columns.clone();
+    }
+
+    /**
+     * Shows the roster of a payroll system and follows its changes
+     * @param payrollSystem The system to read employees from
+     */
+    public void setPayrollSystem(PayrollSystem payrollSystem) {
+        if (this.payrollSystem != null) {
+            this.payrollSystem.removeEmployeeListener(this);
+        }
+        this.payrollSystem = payrollSystem;
+        if (payrollSystem != null) {
+            payrollSystem.addEmployeeListener(this);
+        }
+        reloadRows();
+    }
+
+    // Stops following the payroll system, as when the window closes
+    public void dispose() {
+        if (payrollSystem != null) {
+            payrollSystem.removeEmployeeListener(this);
+        }
+    }
+
+    /**
+     * Limits the table to some employees
+     * @param employeeNumbers The employees to show, or null to show everyone
+     */
+    public void setFilter(Set<String> employeeNumbers) {
+        if (Objects.equals(filter, employeeNumbers)) {
+            return;
+        }
+        filter = employeeNumbers;
+        reloadRows();
+    }
+
+    public Employee getEmployeeAt(int row) {
+        return rows.get(row);
+    }
+
+    // Model row of an employee, or -1 if the employee is not shown
+    public int indexOf(String employeeNumber) {
+        Integer row = rowByNumber.get(employeeNumber);
+        return row == null ? -1 : row;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column].title;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columns[column].value.apply(rows.get(row));
+    }
+
+    @Override
+    public void employeeAdded(Employee employee) {
+        onEventThread(() -> {
+            if (rowByNumber.containsKey(employee.getEmployeeNumber()) || !isShown(employee.getEmployeeNumber())) {
+                return;
+            }
+            int row = rows.size();
+            rows.add(employee);
+            rowByNumber.put(employee.getEmployeeNumber(), row);
+            fireTableRowsInserted(row, row);
+        });
+    }
+
+    @Override
+    public void employeeUpdated(String employeeNumber, Employee employee) {
+        onEventThread(() -> {
+            Integer row = rowByNumber.get(employeeNumber);
+            if (row == null) {
+                employeeAdded(employee);
+                return;
+            }
+            rows.set(row, employee);
+            if (!employeeNumber.equals(employee.getEmployeeNumber())) {
+                rowByNumber.remove(employeeNumber);
+                rowByNumber.put(employee.getEmployeeNumber(), row);
+            }
+            fireTableRowsUpdated(row, row);
+        });
+    }
+
+    @Override
+    public void employeeRemoved(String employeeNumber) {
+        onEventThread(() -> {
+            Integer row = rowByNumber.remove(employeeNumber);
+            if (row == null) {
+                return;
+            }
+            rows.remove((int) row);
+            renumberFrom(row);
+            fireTableRowsDeleted(row, row);
+        });
+    }
+
+    // Compares the new roster with the rows and fires events only for the differences
+    @Override
+    public void employeesReloaded() {
+        onEventThread(() -> {
+            Map<String, Employee> roster = new HashMap<>();
+            List<Employee> added = new ArrayList<>();
+            for (Employee employee : payrollSystem.getAllEmployees()) {
+                if (!isShown(employee.getEmployeeNumber())) {
+                    continue;
+                }
+                roster.put(employee.getEmployeeNumber(), employee);
+                if (!rowByNumber.containsKey(employee.getEmployeeNumber())) {
+                    added.add(employee);
+                }
+            }
+
+            // Delete from the bottom so earlier row numbers stay valid
+            int firstRemoved = rows.size();
+            for (int row = rows.size() - 1; row >= 0; row--) {
+                String employeeNumber = rows.get(row).getEmployeeNumber();
+                if (!roster.containsKey(employeeNumber)) {
+                    rows.remove(row);
+                    rowByNumber.remove(employeeNumber);
+                    firstRemoved = row;
+                    fireTableRowsDeleted(row, row);
+                }
+            }
+            renumberFrom(firstRemoved);
+
+            for (int row = 0; row < rows.size(); row++) {
+                Employee current = rows.get(row);
+                Employee reloaded = roster.get(current.getEmployeeNumber());
+                if (reloaded != current) {
+                    rows.set(row, reloaded);
+                    if (!sameCells(current, reloaded)) {
+                        fireTableRowsUpdated(row, row);
+                    }
+                }
+            }
+
+            if (!added.isEmpty()) {
+                int first = rows.size();
+                for (Employee employee : added) {
+                    rowByNumber.put(employee.getEmployeeNumber(), rows.size());
+                    rows.add(employee);
+                }
+                fireTableRowsInserted(first, rows.size() - 1);
+            }
+        });
+    }
+
+    private void reloadRows() {
+        rows.clear();
+        rowByNumber.clear();
+        if (payrollSystem != null) {
+            for (Employee employee : payrollSystem.getAllEmployees()) {
+                if (isShown(employee.getEmployeeNumber())) {
+                    rowByNumber.put(employee.getEmployeeNumber(), rows.size());
+                    rows.add(employee);
+                }
+            }
+        }
+        fireTableDataChanged();
+    }
+
+    private boolean isShown(String employeeNumber) {
+        return filter == null || filter.contains(employeeNumber);
+    }
+
+    private void renumberFrom(int firstRow) {
+        for (int row = firstRow; row < rows.size(); row++) {
+            rowByNumber.put(rows.get(row).getEmployeeNumber(), row);
+        }
+    }
+
+    private boolean sameCells(Employee a, Employee b) {
+        for (Column column : columns) {
+            if (!Objects.equals(column.value.apply(a), column.value.apply(b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Roster changes can come from worker threads; Swing models change on the EDT only
+    private static void onEventThread(Runnable change) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            change.run();
+        } else {
+            SwingUtilities.invokeLater(change);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.group.motorphapp.gui;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Runs a view's computations off the event dispatch thread, one request
+ * at a time. Submitting a new computation or calling cancel abandons the
+ * one still running: its thread is interrupted and whatever it returns is
+ * dropped, so only the result of the latest request reaches the screen.
+ * Call submit and cancel on the event dispatch thread; the callbacks run
+ * there too.
+ */
+class LatestTaskRunner<T> {
+    // Shared by all views; computations are short, so two threads keep clicks responsive
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "payroll-compute");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Future<?> pending;
+    private long generation;
+
+    /**
+     * Starts a computation, cancelling the previous one
+     * @param task The computation, run on a background thread
+     * @param onResult Receives the result on the event dispatch thread
+     * @param onError Receives the failure on the event dispatch thread
+     */
+    void submit(Callable<T> task, Consumer<T> onResult, Consumer<Throwable> onError) {
+        cancel();
+        long submitted = generation;
+        pending = EXECUTOR.submit(() -> {
+            try {
+                T result = task.call();
+                SwingUtilities.invokeLater(() -> {
+                    if (isLatest(submitted)) {
+                        pending = null;
+                        onResult.accept(result);
+                    }
+                });
+            } catch (Throwable e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (isLatest(submitted)) {
+                        pending = null;
+                        onError.accept(e);
+                    }
+                });
+            }
+        });
+    }
+
+    // Abandons the running computation, if any; its result will not be delivered
+    void cancel() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    boolean isRunning() {
+        return pending != null;
+    }
+
+    private boolean isLatest(long submitted) {
+        return submitted == generation;
+    }
+}
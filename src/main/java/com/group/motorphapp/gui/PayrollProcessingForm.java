@@ -1,20 +1,28 @@
 package com.group.motorphapp.gui;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.text.NumberFormat;
+import java.io.File;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Locale;
 
 // Import your existing classes
+import com.group.motorphapp.export.PayslipRenderer;
+import com.group.motorphapp.export.PayslipZipExporter;
+import com.group.motorphapp.export.RegisterCsvExporter;
+import com.group.motorphapp.export.RemittanceReportWriter;
 import com.group.motorphapp.model.Employee;
-import com.group.motorphapp.model.TimeLog;
+import com.group.motorphapp.model.PayPeriod;
 import com.group.motorphapp.model.PayrollSystem;
-import com.group.motorphapp.model.PayrollCalculator;
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollRegister;
+import com.group.motorphapp.payroll.PayrollRunEngine;
 
 public class PayrollProcessingForm extends JFrame {
     private JTextField employeeNumberField;
@@ -23,10 +31,15 @@ public class PayrollProcessingForm extends JFrame {
     private JTextArea resultArea;
     private JButton processButton;
     private JButton clearButton;
+    private JButton exportButton;
+    private JButton registerButton;
+    private JButton remittanceButton;
+    private JButton finalizeButton;
 
     private PayrollSystem payrollSystem;
+    private PayrollRunEngine runEngine;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("en", "PH"));
+    private final LatestTaskRunner<String> payslipTask = new LatestTaskRunner<>();
 
     public PayrollProcessingForm() {
         setTitle("MotorPH Payroll Processing System");
@@ -52,6 +65,10 @@ public class PayrollProcessingForm extends JFrame {
         resultArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
         processButton = new JButton("Process Payslip");
         clearButton = new JButton("Clear");
+        exportButton = new JButton("Export All Payslips");
+        registerButton = new JButton("Export Register CSV");
+        remittanceButton = new JButton("Export Remittances");
+        finalizeButton = new JButton("Finalize Payroll");
     }
 
     private void layoutComponents() {
@@ -83,6 +100,10 @@ public class PayrollProcessingForm extends JFrame {
         // Buttons
         JPanel buttonPanel = new JPanel(new FlowLayout());
         buttonPanel.add(processButton);
+        buttonPanel.add(exportButton);
+        buttonPanel.add(registerButton);
+        buttonPanel.add(remittanceButton);
+        buttonPanel.add(finalizeButton);
         buttonPanel.add(clearButton);
         gbc.gridx = 0; gbc.gridy = 3;
         gbc.gridwidth = 2;
@@ -99,6 +120,31 @@ public class PayrollProcessingForm extends JFrame {
     private void addListeners() {
         processButton.addActionListener(e -> processPayroll());
         clearButton.addActionListener(e -> clearFields());
+        exportButton.addActionListener(e -> exportPayslips());
+        registerButton.addActionListener(e -> exportRegister());
+        remittanceButton.addActionListener(e -> exportRemittances());
+        finalizeButton.addActionListener(e -> finalizePayroll());
+
+        // A payslip still being computed is for what the fields said before the edit
+        DocumentListener inputChanged = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                cancelPayslip();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                cancelPayslip();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                cancelPayslip();
+            }
+        };
+        employeeNumberField.getDocument().addDocumentListener(inputChanged);
+        payPeriodStartField.getDocument().addDocumentListener(inputChanged);
+        payPeriodEndField.getDocument().addDocumentListener(inputChanged);
     }
 
     private void processPayroll() {
@@ -152,95 +198,240 @@ public class PayrollProcessingForm extends JFrame {
     }
 
     private void generatePayslip(Employee employee, LocalDate startDate, LocalDate endDate) {
-        PayrollCalculator calculator = new PayrollCalculator();
-        List<TimeLog> timeLogs = payrollSystem.getEmployeeTimeLogs(employee.getEmployeeNumber(), startDate, endDate);
-
-        // Calculate pay and deductions
-        double grossPay = calculator.calculateGrossPay(employee, timeLogs);
-
-        // Calculate allowances - assuming you have these methods or attributes
-        double riceSubsidy = employee.getRiceSubsidy();
-        double phoneAllowance = employee.getPhoneAllowance();
-        double clothingAllowance = employee.getClothingAllowance();
-        double totalAllowances = riceSubsidy + phoneAllowance + clothingAllowance;
-
-        // Add allowances to gross pay
-        double totalGrossPay = grossPay + totalAllowances;
-
-        // Calculate deductions
-        double sssDeduction = calculator.calculateSSSContribution(grossPay);
-        double philHealthDeduction = calculator.calculatePhilhealthContribution(grossPay);
-        double pagIbigDeduction = calculator.calculatePagibigContribution(grossPay);
-        double totalDeductions = sssDeduction + philHealthDeduction + pagIbigDeduction;
-        double taxableIncome = grossPay - totalDeductions;
-        double withholdingTax = calculator.calculateWithholdingTax(taxableIncome);
-        double netPay = totalGrossPay - (totalDeductions + withholdingTax);
-
-        // Calculate weekly values (divide by ~4.33 weeks in a month)
-        double weeklyGrossPay = grossPay / 4.33;
-        double weeklyAllowances = totalAllowances / 4.33;
-        double weeklyDeductions = totalDeductions / 4.33;
-        double weeklyTax = withholdingTax / 4.33;
-        double weeklyNetPay = netPay / 4.33;
-
-        // Format the payslip with proper spacing
-        StringBuilder payslip = new StringBuilder();
-        payslip.append("=====================================\n");
-        payslip.append("           MOTORPH PAYSLIP          \n");
-        payslip.append("=====================================\n\n");
-
-        // Employee Information
-        payslip.append(String.format("Employee Number: %s\n", employee.getEmployeeNumber()));
-        payslip.append(String.format("Employee Name: %s, %s\n",
-                employee.getLastName(), employee.getFirstName()));
-        payslip.append(String.format("Position: %s\n", employee.getPosition()));
-        payslip.append(String.format("SSS Number: %s\n", employee.getSssNumber()));
-        payslip.append(String.format("PhilHealth Number: %s\n", employee.getPhilhealthNumber()));
-        payslip.append(String.format("Pag-IBIG Number: %s\n", employee.getPagibigNumber()));
-        payslip.append(String.format("Pay Period: %s to %s\n\n",
-                startDate.format(dateFormatter),
-                endDate.format(dateFormatter)));
-
-        // Monthly Earnings Section
-        payslip.append("MONTHLY EARNINGS:\n");
-        payslip.append(String.format("Basic Pay:          %s\n", formatCurrency(grossPay)));
-        payslip.append("Allowances:\n");
-        payslip.append(String.format("  Rice Subsidy:     %s\n", formatCurrency(riceSubsidy)));
-        payslip.append(String.format("  Phone Allowance:  %s\n", formatCurrency(phoneAllowance)));
-        payslip.append(String.format("  Clothing Allow.:  %s\n", formatCurrency(clothingAllowance)));
-        payslip.append(String.format("Total Allowances:   %s\n", formatCurrency(totalAllowances)));
-        payslip.append(String.format("Gross Pay:          %s\n\n", formatCurrency(totalGrossPay)));
-
-        // Weekly Earnings Section
-        payslip.append("WEEKLY EARNINGS:\n");
-        payslip.append(String.format("Basic Pay:          %s\n", formatCurrency(weeklyGrossPay)));
-        payslip.append(String.format("Total Allowances:   %s\n", formatCurrency(weeklyAllowances)));
-        payslip.append(String.format("Gross Pay:          %s\n\n", formatCurrency(weeklyGrossPay + weeklyAllowances)));
-
-        // Monthly Deductions Section
-        payslip.append("MONTHLY DEDUCTIONS:\n");
-        payslip.append(String.format("SSS:                %s\n", formatCurrency(sssDeduction)));
-        payslip.append(String.format("PhilHealth:         %s\n", formatCurrency(philHealthDeduction)));
-        payslip.append(String.format("Pag-IBIG:           %s\n", formatCurrency(pagIbigDeduction)));
-        payslip.append(String.format("Withholding Tax:    %s\n", formatCurrency(withholdingTax)));
-        payslip.append(String.format("Total Deductions:   %s\n\n",
-                formatCurrency(totalDeductions + withholdingTax)));
-
-        // Weekly Deductions Section
-        payslip.append("WEEKLY DEDUCTIONS:\n");
-        payslip.append(String.format("Total Deductions:   %s\n\n", formatCurrency(weeklyDeductions + weeklyTax)));
-
-        // Net Pay Section
-        payslip.append("=====================================\n");
-        payslip.append(String.format("MONTHLY NET PAY:    %s\n", formatCurrency(netPay)));
-        payslip.append(String.format("WEEKLY NET PAY:     %s\n", formatCurrency(weeklyNetPay)));
-        payslip.append("=====================================\n");
-
-        // Display the payslip
-        resultArea.setText(payslip.toString());
-    }
-    private String formatCurrency(double amount) {
-        return currencyFormat.format(amount);
+        PayPeriod payPeriod = new PayPeriod(startDate, endDate);
+        resultArea.setText(String.format("Computing payslip for %s, %s...%n", employee.getEmployeeNumber(), payPeriod));
+
+        // Computed off the event dispatch thread; only the finished text comes back
+        payslipTask.submit(() -> {
+            // Reuses the cached result when nothing it depends on has changed
+            PayrollEntry payslipEntry = payrollSystem.getPayslip(employee, payPeriod);
+            // A renderer reuses its buffer; an abandoned task may still be rendering on the other worker
+            return new PayslipRenderer().renderText(employee, payslipEntry);
+        }, resultArea::setText, e -> {
+            resultArea.setText("");
+            JOptionPane.showMessageDialog(this,
+                    "An error occurred: " + e.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private void cancelPayslip() {
+        if (payslipTask.isRunning()) {
+            payslipTask.cancel();
+            resultArea.setText("");
+        }
+    }
+
+    // Reads the entered pay period, or shows what is wrong with it and returns null
+    private PayPeriod readPayPeriod() {
+        try {
+            LocalDate startDate = validateDate(payPeriodStartField.getText().trim());
+            LocalDate endDate = validateDate(payPeriodEndField.getText().trim());
+            return new PayPeriod(startDate, endDate);
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this,
+                    "Invalid date format. Please use YYYY-MM-DD format.",
+                    "Input Error",
+                    JOptionPane.ERROR_MESSAGE);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this,
+                    e.getMessage(),
+                    "Input Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+        return null;
+    }
+
+    private void exportPayslips() {
+        PayPeriod payPeriod = readPayPeriod();
+        if (payPeriod == null) {
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("payslips-" + payPeriod.getStartDate() + "_" + payPeriod.getEndDate() + ".zip"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path zipFile = chooser.getSelectedFile().toPath();
+        int employeeCount = payrollSystem.getAllEmployees().size();
+
+        exportButton.setEnabled(false);
+        resultArea.setText("Exporting payslips for " + payPeriod + "...\n");
+        new SwingWorker<Integer, Integer>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return new PayslipZipExporter(payrollSystem).export(payPeriod, zipFile, PayslipRenderer.Format.TEXT,
+                        written -> {
+                            if (written % 100 == 0 || written == employeeCount) {
+                                publish(written);
+                            }
+                        });
+            }
+
+            @Override
+            protected void process(List<Integer> chunks) {
+                resultArea.setText(String.format("Exporting payslips for %s... %d of %d%n",
+                        payPeriod, chunks.get(chunks.size() - 1), employeeCount));
+            }
+
+            @Override
+            protected void done() {
+                exportButton.setEnabled(true);
+                try {
+                    resultArea.setText(String.format("Exported %d payslips for %s to%n%s%n", get(), payPeriod, zipFile));
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    resultArea.setText("");
+                    JOptionPane.showMessageDialog(PayrollProcessingForm.this,
+                            "Export failed: " + cause.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void exportRegister() {
+        PayPeriod payPeriod = readPayPeriod();
+        if (payPeriod == null) {
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("payroll-register-" + payPeriod.getStartDate() + "_" + payPeriod.getEndDate() + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path csvFile = chooser.getSelectedFile().toPath();
+
+        registerButton.setEnabled(false);
+        resultArea.setText("Computing payroll register for " + payPeriod + "...\n");
+        new SwingWorker<PayrollRegister, Void>() {
+            @Override
+            protected PayrollRegister doInBackground() throws Exception {
+                // Exporting is not finalizing; nothing is posted to the year-to-date ledgers
+                PayrollRegister register = getRunEngine().computeRegister(payPeriod);
+                new RegisterCsvExporter().export(register, csvFile);
+                return register;
+            }
+
+            @Override
+            protected void done() {
+                registerButton.setEnabled(true);
+                try {
+                    PayrollRegister register = get();
+                    resultArea.setText(String.format("%s%nExported %d rows to%n%s%n",
+                            register.getSummary(), register.getEmployeeCount(), csvFile));
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    resultArea.setText("");
+                    JOptionPane.showMessageDialog(PayrollProcessingForm.this,
+                            "Export failed: " + cause.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void exportRemittances() {
+        PayPeriod payPeriod = readPayPeriod();
+        if (payPeriod == null) {
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        chooser.setDialogTitle("Folder for the remittance reports");
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path directory = chooser.getSelectedFile().toPath();
+
+        remittanceButton.setEnabled(false);
+        resultArea.setText("Computing remittances for " + payPeriod + "...\n");
+        new SwingWorker<List<Path>, Void>() {
+            @Override
+            protected List<Path> doInBackground() throws Exception {
+                // Exporting is not finalizing; nothing is posted to the year-to-date ledgers
+                PayrollRegister register = getRunEngine().computeRegister(payPeriod);
+                return new RemittanceReportWriter(payrollSystem).write(register, directory);
+            }
+
+            @Override
+            protected void done() {
+                remittanceButton.setEnabled(true);
+                try {
+                    StringBuilder result = new StringBuilder("Remittance reports for " + payPeriod + ":\n");
+                    for (Path file : get()) {
+                        result.append(file).append('\n');
+                    }
+                    resultArea.setText(result.toString());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    resultArea.setText("");
+                    JOptionPane.showMessageDialog(PayrollProcessingForm.this,
+                            "Export failed: " + cause.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void finalizePayroll() {
+        PayPeriod payPeriod = readPayPeriod();
+        if (payPeriod == null) {
+            return;
+        }
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Run payroll for " + payPeriod + " and post it to the year-to-date ledgers?\n"
+                        + "Finalizing the same period again replaces its postings.",
+                "Finalize Payroll",
+                JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.WARNING_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        finalizeButton.setEnabled(false);
+        resultArea.setText("Finalizing payroll for " + payPeriod + "...\n");
+        new SwingWorker<PayrollRegister, Void>() {
+            @Override
+            protected PayrollRegister doInBackground() throws Exception {
+                // Checkpointed, so a run cut short by a crash or a closed window resumes next time
+                getRunEngine().runResumable(payPeriod);
+                return getRunEngine().finalizeRun(payPeriod);
+            }
+
+            @Override
+            protected void done() {
+                finalizeButton.setEnabled(true);
+                try {
+                    PayrollRegister register = get();
+                    resultArea.setText(String.format("%s%nPosted %d employees to the year-to-date ledgers in%n%s%n",
+                            register.getSummary(), register.getEmployeeCount(),
+                            payrollSystem.getYearToDateLedgers().getFile()));
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    resultArea.setText("");
+                    JOptionPane.showMessageDialog(PayrollProcessingForm.this,
+                            "Finalize failed: " + cause.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    // Created on first use so the form does not track runs it never makes
+    private synchronized PayrollRunEngine getRunEngine() {
+        if (runEngine == null) {
+            runEngine = new PayrollRunEngine(payrollSystem);
+        }
+        return runEngine;
     }
 
     private void clearFields() {
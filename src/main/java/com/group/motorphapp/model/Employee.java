@@ -13,6 +13,7 @@ public class Employee {
     private double riceSubsidy;
     private double phoneAllowance;
     private double clothingAllowance;
+    private String supervisor = "";
 
     public Employee(String employeeNumber, String lastName, String firstName,
                     double basicSalary, String sssNumber, String philhealthNumber,
@@ -128,4 +129,12 @@ public class Employee {
     public void setClothingAllowance(double clothingAllowance) {
         this.clothingAllowance = clothingAllowance;
     }
+    // Immediate supervisor as written in the employee file, or empty if unknown
+    public String getSupervisor() {
+        return supervisor;
+    }
+
+    public void setSupervisor(String supervisor) {
+        this.supervisor = supervisor == null ? "" : supervisor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.group.motorphapp.model;
+
+/**
+ * Receives changes to the employee roster made through PayrollSystem.
+ */
+public interface EmployeeListener {
+    /**
+     * Called after an employee was added
+     * @param employee The new employee
+     */
+    void employeeAdded(Employee employee);
+
+    /**
+     * Called after an employee record was replaced
+     * @param employeeNumber The employee number before the change
+     * @param employee The new record, which may carry a different employee number
+     */
+    void employeeUpdated(String employeeNumber, Employee employee);
+
+    /**
+     * Called after an employee was deleted
+     * @param employeeNumber The deleted employee's number
+     */
+    void employeeRemoved(String employeeNumber);
+
+    // Called after the whole roster was replaced, as when reloading from the files
+    void employeesReloaded();
+}
@@ -0,0 +1,68 @@
+package com.group.motorphapp.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+public class PayPeriod {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public PayPeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Pay period dates are required.");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    // Pay period covering a whole calendar month
+    public static PayPeriod ofMonth(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return new PayPeriod(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+
+    // True if the two periods share at least one day
+    public boolean overlaps(PayPeriod other) {
+        return !other.endDate.isBefore(startDate) && !other.startDate.isAfter(endDate);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PayPeriod)) {
+            return false;
+        }
+        PayPeriod period = (PayPeriod) other;
+        return startDate.equals(period.startDate) && endDate.equals(period.endDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * startDate.hashCode() + endDate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return startDate.format(DATE_FORMAT) + " to " + endDate.format(DATE_FORMAT);
+    }
+}
@@ -0,0 +1,65 @@
+package com.group.motorphapp.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Parallel totals of payroll entries for the whole company or per group.
+ * Every worker sums its share into PayrollTotals, and the partial totals
+ * are merged in whatever order the threads finish. Centavo sums are exact,
+ * so the result does not depend on the thread count or scheduling.
+ */
+public class PayrollAggregator {
+    public static final String NO_SUPERVISOR = "(none)";
+
+    private static final Collector<PayrollEntry, PayrollTotals, PayrollTotals> TOTALS =
+            Collector.of(PayrollTotals::new, PayrollTotals::add, PayrollTotals::combine, Collector.Characteristics.UNORDERED);
+
+    private PayrollAggregator() {
+    }
+
+    /**
+     * Sums every entry in parallel
+     * @param entries The payroll entries
+     * @return The company totals
+     */
+    public static PayrollTotals total(List<PayrollEntry> entries) {
+        return entries.parallelStream().collect(TOTALS);
+    }
+
+    /**
+     * Sums the entries of each group in parallel
+     * @param entries The payroll entries
+     * @param groupOf Gives the group an entry belongs to
+     * @return The totals of each group, sorted by group name
+     */
+    public static Map<String, PayrollTotals> totalBy(List<PayrollEntry> entries, Function<PayrollEntry, String> groupOf) {
+        return entries.parallelStream().collect(Collectors.groupingByConcurrent(groupOf, TOTALS))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));
+    }
+
+    public static Map<String, PayrollTotals> totalByPosition(List<PayrollEntry> entries) {
+        return totalBy(entries, PayrollEntry::getPosition);
+    }
+
+    /**
+     * Sums the entries under each immediate supervisor
+     * @param entries The payroll entries
+     * @param payrollSystem The system used to look up each employee's supervisor
+     * @return The totals of each supervisor's team, sorted by supervisor
+     */
+    public static Map<String, PayrollTotals> totalBySupervisor(List<PayrollEntry> entries, PayrollSystem payrollSystem) {
+        return totalBy(entries, entry -> {
+            Employee employee = payrollSystem.findEmployee(entry.getEmployeeNumber());
+            if (employee == null || employee.getSupervisor().trim().isEmpty()) {
+                return NO_SUPERVISOR;
+            }
+            return employee.getSupervisor().trim();
+        });
+    }
+}
@@ -2,6 +2,8 @@ package com.group.motorphapp.model;
 
 import com.group.motorphapp.calculator.DeductionsCalculator;
 import com.group.motorphapp.calculator.BasicPayCalculator;
+import com.group.motorphapp.calculator.DeductionRuleRegistry;
+import com.group.motorphapp.calculator.DeductionRuleSet;
 import java.util.List;
 
 public class PayrollCalculator {
@@ -32,4 +34,44 @@ public class PayrollCalculator {
     public double calculateWithholdingTax(double taxableIncome) {
         return deductionsCalculator.calculateWithholdingTax(taxableIncome);
     }
+
+    /**
+     * Computes an employee's pay and deductions for a pay period
+     * @param employee The employee to pay
+     * @param payPeriod The pay period being computed
+     * @param timeLogs The employee's time logs within the pay period
+     * @return The computed payroll entry
+     */
+    public PayrollEntry calculatePayroll(Employee employee, PayPeriod payPeriod, List<TimeLog> timeLogs) {
+        return calculatePayroll(employee, payPeriod, calculateGrossPay(employee, timeLogs));
+    }
+
+    /**
+     * Builds a payroll entry from a gross pay computed elsewhere, such as the columnar kernel
+     * @param employee The employee to pay
+     * @param payPeriod The pay period being computed
+     * @param grossPay The employee's basic pay for the period
+     * @return The computed payroll entry
+     */
+    public PayrollEntry calculatePayroll(Employee employee, PayPeriod payPeriod, double grossPay) {
+        return calculatePayroll(employee, payPeriod, grossPay, DeductionRuleRegistry.forPeriod(payPeriod));
+    }
+
+    /**
+     * Builds a payroll entry using a given set of deduction rules
+     * @param employee The employee to pay
+     * @param payPeriod The pay period being computed
+     * @param grossPay The employee's basic pay for the period
+     * @param rules The PhilHealth and Pag-IBIG rules for the period
+     * @return The computed payroll entry
+     */
+    public PayrollEntry calculatePayroll(Employee employee, PayPeriod payPeriod, double grossPay, DeductionRuleSet rules) {
+        // Contributions are based on basic pay; tax on basic pay less contributions
+        double sss = calculateSSSContribution(grossPay);
+        double philHealth = deductionsCalculator.calculatePhilhealthContribution(grossPay, rules);
+        double pagIbig = deductionsCalculator.calculatePagibigContribution(grossPay, rules);
+        double withholdingTax = calculateWithholdingTax(grossPay - (sss + philHealth + pagIbig));
+
+        return new PayrollEntry(employee, payPeriod, grossPay, sss, philHealth, pagIbig, withholdingTax);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.group.motorphapp.model;
+
+// Computed pay of one employee for one pay period
+public class PayrollEntry {
+    private final String employeeNumber;
+    private final String lastName;
+    private final String firstName;
+    private final String position;
+    private final PayPeriod payPeriod;
+    private final double grossPay;
+    private final double riceSubsidy;
+    private final double phoneAllowance;
+    private final double clothingAllowance;
+    private final double sssContribution;
+    private final double philhealthContribution;
+    private final double pagibigContribution;
+    private final double withholdingTax;
+
+    public PayrollEntry(Employee employee, PayPeriod payPeriod, double grossPay,
+                        double sssContribution, double philhealthContribution,
+                        double pagibigContribution, double withholdingTax) {
+        this(employee.getEmployeeNumber(), employee.getLastName(), employee.getFirstName(), employee.getPosition(),
+                payPeriod, grossPay, employee.getRiceSubsidy(), employee.getPhoneAllowance(),
+                employee.getClothingAllowance(), sssContribution, philhealthContribution,
+                pagibigContribution, withholdingTax);
+    }
+
+    // Rebuilds an entry from stored values, such as a payroll checkpoint
+    public PayrollEntry(String employeeNumber, String lastName, String firstName, String position,
+                        PayPeriod payPeriod, double grossPay, double riceSubsidy, double phoneAllowance,
+                        double clothingAllowance, double sssContribution, double philhealthContribution,
+                        double pagibigContribution, double withholdingTax) {
+        this.employeeNumber = employeeNumber;
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.position = position;
+        this.payPeriod = payPeriod;
+        this.grossPay = grossPay;
+        this.riceSubsidy = riceSubsidy;
+        this.phoneAllowance = phoneAllowance;
+        this.clothingAllowance = clothingAllowance;
+        this.sssContribution = sssContribution;
+        this.philhealthContribution = philhealthContribution;
+        this.pagibigContribution = pagibigContribution;
+        this.withholdingTax = withholdingTax;
+    }
+
+    public String getEmployeeNumber() {
+        return employeeNumber;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public PayPeriod getPayPeriod() {
+        return payPeriod;
+    }
+
+    // Basic pay earned from attendance, before allowances
+    public double getGrossPay() {
+        return grossPay;
+    }
+
+    public double getRiceSubsidy() {
+        return riceSubsidy;
+    }
+
+    public double getPhoneAllowance() {
+        return phoneAllowance;
+    }
+
+    public double getClothingAllowance() {
+        return clothingAllowance;
+    }
+
+    public double getTotalAllowances() {
+        return riceSubsidy + phoneAllowance + clothingAllowance;
+    }
+
+    // Basic pay plus allowances
+    public double getTotalGrossPay() {
+        return grossPay + getTotalAllowances();
+    }
+
+    public double getSssContribution() {
+        return sssContribution;
+    }
+
+    public double getPhilhealthContribution() {
+        return philhealthContribution;
+    }
+
+    public double getPagibigContribution() {
+        return pagibigContribution;
+    }
+
+    public double getTotalContributions() {
+        return sssContribution + philhealthContribution + pagibigContribution;
+    }
+
+    // Basic pay less contributions; allowances are not taxed
+    public double getTaxableIncome() {
+        return grossPay - getTotalContributions();
+    }
+
+    public double getWithholdingTax() {
+        return withholdingTax;
+    }
+
+    // Contributions plus withholding tax
+    public double getTotalDeductions() {
+        return getTotalContributions() + withholdingTax;
+    }
+
+    public double getNetPay() {
+        return getTotalGrossPay() - getTotalDeductions();
+    }
+}
@@ -0,0 +1,156 @@
+package com.group.motorphapp.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a batch payroll run: one entry per employee for a pay period,
+ * company totals and how long the run took. A single entry can be replaced
+ * afterwards, adjusting the totals by the difference. Totals are kept in
+ * centavos, so they match a fresh run exactly however they were reached.
+ */
+public class PayrollRegister {
+    private final PayPeriod payPeriod;
+    private final List<PayrollEntry> entries;
+    private final Map<String, Integer> positionByEmployee;
+    private final long elapsedNanos;
+
+    private final PayrollTotals totals;
+
+    public PayrollRegister(PayPeriod payPeriod, List<PayrollEntry> entries, long elapsedNanos) {
+        this.payPeriod = payPeriod;
+        this.entries = new ArrayList<>(entries);
+        this.elapsedNanos = elapsedNanos;
+        this.positionByEmployee = new HashMap<>();
+
+        for (int i = 0; i < this.entries.size(); i++) {
+            positionByEmployee.put(this.entries.get(i).getEmployeeNumber(), i);
+        }
+        this.totals = PayrollAggregator.total(this.entries);
+    }
+
+    /**
+     * Swaps in a recomputed entry, or appends it for an employee not yet in the register
+     * @param entry The recomputed entry for this register's pay period
+     * @return The entry it replaced, or null if the employee was not in the register
+     */
+    public PayrollEntry replaceEntry(PayrollEntry entry) {
+        if (!payPeriod.equals(entry.getPayPeriod())) {
+            throw new IllegalArgumentException("Entry is for " + entry.getPayPeriod() + ", not " + payPeriod);
+        }
+        Integer position = positionByEmployee.get(entry.getEmployeeNumber());
+        PayrollEntry previous = null;
+        if (position == null) {
+            positionByEmployee.put(entry.getEmployeeNumber(), entries.size());
+            entries.add(entry);
+        } else {
+            previous = entries.set(position, entry);
+            totals.subtract(previous);
+        }
+        totals.add(entry);
+        return previous;
+    }
+
+    /**
+     * Takes an employee's entry out of the register, such as after the employee was deleted
+     * @param employeeNumber The employee number
+     * @return The removed entry, or null if the employee was not in the register
+     */
+    public PayrollEntry removeEntry(String employeeNumber) {
+        Integer position = positionByEmployee.remove(employeeNumber);
+        if (position == null) {
+            return null;
+        }
+        PayrollEntry removed = entries.remove((int) position);
+        // Entries after the removed one move up a place
+        for (int i = position; i < entries.size(); i++) {
+            positionByEmployee.put(entries.get(i).getEmployeeNumber(), i);
+        }
+        totals.subtract(removed);
+        return removed;
+    }
+
+    public PayPeriod getPayPeriod() {
+        return payPeriod;
+    }
+
+    // Entries in roster order
+    public List<PayrollEntry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public PayrollEntry getEntry(String employeeNumber) {
+        Integer position = positionByEmployee.get(employeeNumber);
+        return position == null ? null : entries.get(position);
+    }
+
+    public int getEmployeeCount() {
+        return entries.size();
+    }
+
+    public double getTotalGrossPay() {
+        return totals.getGrossPay();
+    }
+
+    public double getTotalAllowances() {
+        return totals.getAllowances();
+    }
+
+    public double getTotalSss() {
+        return totals.getSssContribution();
+    }
+
+    public double getTotalPhilhealth() {
+        return totals.getPhilhealthContribution();
+    }
+
+    public double getTotalPagibig() {
+        return totals.getPagibigContribution();
+    }
+
+    public double getTotalWithholdingTax() {
+        return totals.getWithholdingTax();
+    }
+
+    public double getTotalNetPay() {
+        return totals.getNetPay();
+    }
+
+    public PayrollTotals getTotals() {
+        return totals;
+    }
+
+    // Totals per position, computed in parallel
+    public Map<String, PayrollTotals> getTotalsByPosition() {
+        return PayrollAggregator.totalByPosition(entries);
+    }
+
+    /**
+     * Gets the totals of each supervisor's team, computed in parallel
+     * @param payrollSystem The system used to look up each employee's supervisor
+     * @return The totals per supervisor, sorted by supervisor
+     */
+    public Map<String, PayrollTotals> getTotalsBySupervisor(PayrollSystem payrollSystem) {
+        return PayrollAggregator.totalBySupervisor(entries, payrollSystem);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    // Employees computed per second of run time
+    public double getThroughput() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return entries.size() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public String getSummary() {
+        return String.format("Payroll %s: %d employees in %d ms (%.0f employees/s), gross %.2f, net %.2f",
+                payPeriod, entries.size(), getElapsedMillis(), getThroughput(), getTotalGrossPay(), getTotalNetPay());
+    }
+}
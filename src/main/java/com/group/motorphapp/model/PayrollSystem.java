@@ -1,33 +1,177 @@
 package com.group.motorphapp.model;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import com.group.motorphapp.calculator.DeductionRuleRegistry;
+import com.group.motorphapp.calculator.RateTableEngine;
+import com.group.motorphapp.datamanager.AttendanceBitmapIndex;
+import com.group.motorphapp.datamanager.AttendanceStore;
 import com.group.motorphapp.datamanager.EmployeeDataManager;
+import com.group.motorphapp.datamanager.EmployeeSearchIndex;
+import com.group.motorphapp.datamanager.GovernmentIdIndex;
+import com.group.motorphapp.datamanager.HeapAttendanceStore;
+import com.group.motorphapp.datamanager.OffHeapAttendanceStore;
+import com.group.motorphapp.datamanager.PunchIngestIndex;
+import com.group.motorphapp.datamanager.PunchReviewQueue;
 
 public class PayrollSystem {
-    private List<Employee> employees;
-    private List<TimeLog> timeLogs;
+    // Set -Dmotorph.attendance.offHeap=true to keep time logs outside the Java heap
+    public static final String OFF_HEAP_ATTENDANCE_PROPERTY = "motorph.attendance.offHeap";
+    // Optional directory for memory-mapped attendance segments when off-heap storage is on
+    public static final String ATTENDANCE_MAP_DIRECTORY_PROPERTY = "motorph.attendance.mapDirectory";
+    private static final int PAYSLIP_CACHE_SIZE = 1024;
+
+    // Edited on the event thread while payroll runs and exports read them on others:
+    // the roster and time log lists are copy-on-write, the employee index is concurrent,
+    // and whole replacements are swapped in through volatile fields
+    private volatile List<Employee> employees;
+    private volatile List<TimeLog> timeLogs;
     private EmployeeDataManager dataManager;
+    private volatile AttendanceBitmapIndex attendanceIndex;
+    private volatile AttendanceStore attendanceStore;
+    private final boolean offHeapAttendance;
+    private volatile Map<String, Employee> employeeIndex;
+    private volatile EmployeeSearchIndex searchIndex;
+    private volatile GovernmentIdIndex governmentIdIndex;
+
+    // Data versions for the payslip cache, all drawn from one increasing clock
+    private final AtomicLong versionClock = new AtomicLong();
+    private volatile long dataEpoch;
+    private final Map<String, Long> employeeVersions = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, Long>> timeLogVersions = new ConcurrentHashMap<>();
+    private final PayslipCache payslipCache = new PayslipCache(PAYSLIP_CACHE_SIZE);
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+    private final List<TimeLogListener> timeLogListeners = new CopyOnWriteArrayList<>();
+    private final List<EmployeeListener> employeeListeners = new CopyOnWriteArrayList<>();
+    private final YearToDateLedgers yearToDateLedgers = new YearToDateLedgers();
 
     public PayrollSystem() {
-        this.employees = new ArrayList<>();
-        this.timeLogs = new ArrayList<>();
+        this(true);
+    }
+
+    /**
+     * Creates a payroll system, optionally without reading the data files yet
+     * @param loadFromFiles false to start empty and load later with readEmployees and readAttendance
+     */
+    public PayrollSystem(boolean loadFromFiles) {
+        this.employees = new CopyOnWriteArrayList<>();
+        this.timeLogs = new CopyOnWriteArrayList<>();
         this.dataManager = new EmployeeDataManager();
+        this.attendanceIndex = new AttendanceBitmapIndex();
+        this.offHeapAttendance = Boolean.getBoolean(OFF_HEAP_ATTENDANCE_PROPERTY);
+        this.attendanceStore = createAttendanceStore();
+        this.employeeIndex = new ConcurrentHashMap<>();
+        this.searchIndex = new EmployeeSearchIndex();
+        this.governmentIdIndex = new GovernmentIdIndex();
 
         // Initialize with data from files
-        loadDataFromFiles();
+        if (loadFromFiles) {
+            loadDataFromFiles();
+        }
     }
 
     private void loadDataFromFiles() {
-        this.employees = dataManager.getEmployees();
-        this.timeLogs = dataManager.getTimeLogs();
+        this.employees = new CopyOnWriteArrayList<>(readEmployees());
+        rebuildEmployeeIndexes();
+        setAttendance(readAttendance(null));
+    }
+
+    /**
+     * Time logs read from the file and stored, but not yet in use.
+     * Built by readAttendance, which may run on a background thread,
+     * and put in place by setAttendance.
+     */
+    public static final class LoadedAttendance {
+        private final AttendanceStore store;
+        private final AttendanceBitmapIndex index;
+        private final List<TimeLog> logs;
+
+        private LoadedAttendance(AttendanceStore store, AttendanceBitmapIndex index, List<TimeLog> logs) {
+            this.store = store;
+            this.index = index;
+            this.logs = logs;
+        }
+
+        public int size() {
+            return store.size();
+        }
+    }
+
+    // Reads the employee file without changing the roster; safe to call off the event thread
+    public List<Employee> readEmployees() {
+        return dataManager.getEmployees();
+    }
+
+    /**
+     * Reads the time log file into a new store without changing the one in use
+     * @param progress Receives the percentage of the file read so far, or null
+     * @return The time logs, ready for setAttendance
+     */
+    public LoadedAttendance readAttendance(IntConsumer progress) {
+        // Stream the time logs into the store and attendance index
+        AttendanceStore store = createAttendanceStore();
+        AttendanceBitmapIndex index = new AttendanceBitmapIndex();
+        List<TimeLog> logs = offHeapAttendance ? null : new ArrayList<>();
+        try {
+            dataManager.readTimeLogs(log -> {
+                store.add(log);
+                index.add(log);
+                if (logs != null) {
+                    logs.add(log);
+                }
+            }, progress);
+        } catch (RuntimeException e) {
+            store.release();
+            throw e;
+        }
+        return new LoadedAttendance(store, index, logs);
+    }
+
+    // Replaces all time logs with ones from readAttendance
+    public void setAttendance(LoadedAttendance attendance) {
+        AttendanceStore previous = attendanceStore;
+        this.timeLogs = attendance.logs == null ? null : new CopyOnWriteArrayList<>(attendance.logs);
+        this.attendanceStore = attendance.store;
+        this.attendanceIndex = attendance.index;
+        invalidateAll();
+        // Only once the new store is in use
+        previous.release();
+    }
+
+    private AttendanceStore createAttendanceStore() {
+        if (!offHeapAttendance) {
+            return new HeapAttendanceStore();
+        }
+        String mapDirectory = System.getProperty(ATTENDANCE_MAP_DIRECTORY_PROPERTY);
+        return mapDirectory == null || mapDirectory.isEmpty()
+                ? new OffHeapAttendanceStore()
+                : new OffHeapAttendanceStore(Paths.get(mapDirectory));
     }
 
     // Add new employee
     public boolean addEmployee(Employee employee) {
+        // Reject government IDs that already belong to another employee
+        String conflict = governmentIdIndex.findConflict(employee);
+        if (conflict != null) {
+            throw new IllegalArgumentException(conflict);
+        }
+
         // Add to memory
         employees.add(employee);
+        indexEmployee(employee);
+        touchEmployee(employee.getEmployeeNumber());
+        for (EmployeeListener listener : employeeListeners) {
+            listener.employeeAdded(employee);
+        }
 
         // Persist to file
         return dataManager.updateEmployee(employee);
@@ -35,6 +179,19 @@ public class PayrollSystem {
 
     // Add or replace employee in memory
     public void updateEmployee(String employeeNumber, Employee updatedEmployee) {
+        // Reject government IDs that already belong to another employee
+        Employee previous = employeeIndex.get(employeeNumber);
+        if (previous != null) {
+            governmentIdIndex.remove(previous);
+        }
+        String conflict = governmentIdIndex.findConflict(updatedEmployee);
+        if (conflict != null) {
+            if (previous != null) {
+                governmentIdIndex.add(previous);
+            }
+            throw new IllegalArgumentException(conflict);
+        }
+
         // First, see if the employee exists
         boolean found = false;
         for (int i = 0; i < employees.size(); i++) {
@@ -49,6 +206,19 @@ public class PayrollSystem {
         if (!found) {
             employees.add(updatedEmployee);
         }
+        if (!employeeNumber.equals(updatedEmployee.getEmployeeNumber())) {
+            unindexEmployee(employeeNumber);
+        }
+        indexEmployee(updatedEmployee);
+        touchEmployee(employeeNumber);
+        touchEmployee(updatedEmployee.getEmployeeNumber());
+        for (EmployeeListener listener : employeeListeners) {
+            if (found) {
+                listener.employeeUpdated(employeeNumber, updatedEmployee);
+            } else {
+                listener.employeeAdded(updatedEmployee);
+            }
+        }
 
         // Update in file
         dataManager.updateEmployee(updatedEmployee);
@@ -56,10 +226,27 @@ public class PayrollSystem {
 
     // Delete employee from memory
     public void deleteEmployee(String employeeNumber) {
+        Employee removed = employeeIndex.get(employeeNumber);
+        if (removed != null) {
+            governmentIdIndex.remove(removed);
+        }
         employees.removeIf(emp -> emp.getEmployeeNumber().equals(employeeNumber));
+        unindexEmployee(employeeNumber);
 
         // Also remove associated time logs
-        timeLogs.removeIf(log -> log.getEmployeeNumber().equals(employeeNumber));
+        if (timeLogs != null) {
+            timeLogs.removeIf(log -> log.getEmployeeNumber().equals(employeeNumber));
+        }
+        attendanceStore.removeEmployee(employeeNumber);
+        attendanceIndex.removeEmployee(employeeNumber);
+        touchEmployee(employeeNumber);
+        timeLogVersions.remove(employeeNumber);
+        payslipCache.invalidateEmployee(employeeNumber);
+        if (removed != null) {
+            for (EmployeeListener listener : employeeListeners) {
+                listener.employeeRemoved(employeeNumber);
+            }
+        }
 
         // Delete from file
         dataManager.deleteEmployee(employeeNumber);
@@ -71,12 +258,48 @@ public class PayrollSystem {
      * @return The found Employee object, or null if not found
      */
     public Employee findEmployee(String employeeNumber) {
+        return employeeIndex.get(employeeNumber);
+    }
+
+    /**
+     * Searches employees by name, position or government ID
+     * @param query The search text; every word must match
+     * @return The matching employee numbers, or null when the query is blank
+     */
+    public Set<String> searchEmployees(String query) {
+        return searchIndex.search(query);
+    }
+
+    /**
+     * Finds an employee by one of their government ID numbers
+     * @param type The kind of ID to look up
+     * @param id The ID number, with or without dashes
+     * @return The found Employee object, or null if not found
+     */
+    public Employee findEmployeeByGovernmentId(GovernmentIdIndex.IdType type, String id) {
+        String employeeNumber = governmentIdIndex.findEmployeeNumber(type, id);
+        return employeeNumber == null ? null : employeeIndex.get(employeeNumber);
+    }
+
+    private void rebuildEmployeeIndexes() {
+        Map<String, Employee> index = new ConcurrentHashMap<>();
         for (Employee employee : employees) {
-            if (employee.getEmployeeNumber().equals(employeeNumber)) {
-                return employee;
-            }
+            index.put(employee.getEmployeeNumber(), employee);
         }
-        return null;
+        employeeIndex = index;
+        searchIndex = EmployeeSearchIndex.build(employees);
+        governmentIdIndex = GovernmentIdIndex.build(employees);
+    }
+
+    private void indexEmployee(Employee employee) {
+        employeeIndex.put(employee.getEmployeeNumber(), employee);
+        searchIndex.add(employee);
+        governmentIdIndex.add(employee);
+    }
+
+    private void unindexEmployee(String employeeNumber) {
+        employeeIndex.remove(employeeNumber);
+        searchIndex.remove(employeeNumber);
     }
 
     // Getters and setters
@@ -85,20 +308,250 @@ public class PayrollSystem {
     }
 
     public void setEmployees(List<Employee> employees) {
-        this.employees = employees;
+        this.employees = new CopyOnWriteArrayList<>(employees);
+        rebuildEmployeeIndexes();
+        invalidateAll();
+        fireEmployeesReloaded();
     }
 
+    // With off-heap attendance this returns a copy read back from the store
     public List<TimeLog> getTimeLogs() {
+        if (timeLogs == null) {
+            return attendanceStore.getAllTimeLogs();
+        }
         return timeLogs;
     }
 
+    public int getTimeLogCount() {
+        return attendanceStore.size();
+    }
+
     public void setTimeLogs(List<TimeLog> timeLogs) {
-        this.timeLogs = timeLogs;
+        AttendanceStore store = createAttendanceStore();
+        for (TimeLog log : timeLogs) {
+            store.add(log);
+        }
+        AttendanceStore previous = attendanceStore;
+        this.timeLogs = offHeapAttendance ? null : new CopyOnWriteArrayList<>(timeLogs);
+        this.attendanceStore = store;
+        this.attendanceIndex = AttendanceBitmapIndex.build(timeLogs);
+        invalidateAll();
+        previous.release();
+    }
+
+    /**
+     * Adds a single time log, such as a missed punch entered by hand.
+     * It is screened like the logs read from file: a repeat of a stored log,
+     * or one overlapping a stored shift of the same employee, is held in the
+     * punch review queue instead.
+     * @param log The time log to add
+     * @return true if the log was added, false if it was held for review
+     */
+    public boolean addTimeLog(TimeLog log) {
+        if (log == null || log.getEmployeeNumber() == null || log.getDate() == null) {
+            throw new IllegalArgumentException("Time log needs an employee number and a date.");
+        }
+        PunchReviewQueue.Item held = PunchIngestIndex.screen(log, attendanceStore);
+        if (held != null) {
+            getPunchReviewQueue().add(held);
+            return false;
+        }
+        addStoredTimeLog(log);
+        fireTimeLogChanged(log.getEmployeeNumber(), log.getDate());
+        return true;
+    }
+
+    /**
+     * Replaces one time log with a corrected one
+     * @param existing The time log as currently stored
+     * @param updated The corrected time log
+     * @return true if the existing time log was found and replaced; false if it was not found,
+     * or if the corrected log was held for review and the existing one kept
+     */
+    public boolean updateTimeLog(TimeLog existing, TimeLog updated) {
+        if (updated == null || updated.getEmployeeNumber() == null || updated.getDate() == null) {
+            throw new IllegalArgumentException("Time log needs an employee number and a date.");
+        }
+        if (!removeStoredTimeLog(existing)) {
+            return false;
+        }
+        if (!addTimeLog(updated)) {
+            addStoredTimeLog(existing);
+            return false;
+        }
+        if (!existing.getEmployeeNumber().equals(updated.getEmployeeNumber())
+                || !existing.getDate().equals(updated.getDate())) {
+            fireTimeLogChanged(existing.getEmployeeNumber(), existing.getDate());
+        }
+        return true;
+    }
+
+    /**
+     * Removes one time log
+     * @param log The time log to remove, matched by employee, date and times
+     * @return true if the time log was found and removed
+     */
+    public boolean removeTimeLog(TimeLog log) {
+        if (!removeStoredTimeLog(log)) {
+            return false;
+        }
+        fireTimeLogChanged(log.getEmployeeNumber(), log.getDate());
+        return true;
+    }
+
+    public void addTimeLogListener(TimeLogListener listener) {
+        timeLogListeners.add(listener);
+    }
+
+    public void removeTimeLogListener(TimeLogListener listener) {
+        timeLogListeners.remove(listener);
+    }
+
+    // Listeners are told about employee additions, edits, deletions and reloads
+    public void addEmployeeListener(EmployeeListener listener) {
+        employeeListeners.add(listener);
+    }
+
+    public void removeEmployeeListener(EmployeeListener listener) {
+        employeeListeners.remove(listener);
+    }
+
+    private void fireEmployeesReloaded() {
+        for (EmployeeListener listener : employeeListeners) {
+            listener.employeesReloaded();
+        }
+    }
+
+    private void addStoredTimeLog(TimeLog log) {
+        attendanceStore.add(log);
+        attendanceIndex.add(log);
+        if (timeLogs != null) {
+            timeLogs.add(log);
+        }
+    }
+
+    private boolean removeStoredTimeLog(TimeLog log) {
+        if (log == null || !attendanceStore.remove(log)) {
+            return false;
+        }
+        if (timeLogs != null) {
+            for (int i = 0; i < timeLogs.size(); i++) {
+                TimeLog stored = timeLogs.get(i);
+                if (stored.getEmployeeNumber().equals(log.getEmployeeNumber())
+                        && stored.getDate().equals(log.getDate())
+                        && Objects.equals(stored.getTimeIn(), log.getTimeIn())
+                        && Objects.equals(stored.getTimeOut(), log.getTimeOut())) {
+                    timeLogs.remove(i);
+                    break;
+                }
+            }
+        }
+
+        // The employee stays present that day only if another punch remains
+        String employeeNumber = log.getEmployeeNumber();
+        attendanceIndex.markAbsent(employeeNumber, log.getDate());
+        for (TimeLog remaining : attendanceStore.getEmployeeTimeLogs(employeeNumber, log.getDate(), log.getDate())) {
+            attendanceIndex.add(remaining);
+        }
+        return true;
+    }
+
+    private void fireTimeLogChanged(String employeeNumber, LocalDate date) {
+        timeLogVersions.computeIfAbsent(employeeNumber, key -> new ConcurrentHashMap<>())
+                .put(monthKey(date), versionClock.incrementAndGet());
+        for (TimeLogListener listener : timeLogListeners) {
+            listener.timeLogChanged(employeeNumber, date);
+        }
+    }
+
+    // Duplicate and overlapping punches held back when the time logs were loaded
+    public PunchReviewQueue getPunchReviewQueue() {
+        return dataManager.getPunchReviewQueue();
+    }
+
+    public boolean isOffHeapAttendance() {
+        return offHeapAttendance;
+    }
+
+    public AttendanceBitmapIndex getAttendanceIndex() {
+        return attendanceIndex;
     }
 
     // Refresh data from files
     public void refreshData() {
         loadDataFromFiles();
+        fireEmployeesReloaded();
+    }
+
+    /**
+     * Gets an employee's payroll for a pay period, reusing the cached result
+     * unless their record, their time logs in that period or the rate
+     * tables have changed since it was computed
+     * @param employee The employee to pay
+     * @param payPeriod The pay period
+     * @return The computed payroll entry
+     */
+    public PayrollEntry getPayslip(Employee employee, PayPeriod payPeriod) {
+        // Picks up edited deduction rules and rate tables without a restart, checking the files now and then
+        DeductionRuleRegistry.reloadIfDue();
+
+        String employeeNumber = employee.getEmployeeNumber();
+        long dataVersion = getDataVersion(employeeNumber, payPeriod);
+        long rateVersion = RateTableEngine.getVersion();
+
+        PayrollEntry entry = payslipCache.get(employeeNumber, payPeriod, dataVersion, rateVersion);
+        if (entry == null) {
+            List<TimeLog> logs = getEmployeeTimeLogs(employeeNumber, payPeriod.getStartDate(), payPeriod.getEndDate());
+            entry = payrollCalculator.calculatePayroll(employee, payPeriod, logs);
+            payslipCache.put(entry, dataVersion, rateVersion);
+        }
+        return entry;
+    }
+
+    // Year-to-date totals posted by finalized payroll runs
+    public YearToDateLedgers getYearToDateLedgers() {
+        return yearToDateLedgers;
+    }
+
+    public PayslipCache getPayslipCache() {
+        return payslipCache;
+    }
+
+    /**
+     * Gets the version of everything a payslip depends on apart from the rates
+     * @param employeeNumber The employee number
+     * @param payPeriod The pay period
+     * @return A number that changes whenever the employee's record or their time logs in the period change
+     */
+    public long getDataVersion(String employeeNumber, PayPeriod payPeriod) {
+        long version = Math.max(dataEpoch, employeeVersions.getOrDefault(employeeNumber, 0L));
+        Map<Integer, Long> months = timeLogVersions.get(employeeNumber);
+        if (months != null) {
+            int firstMonth = monthKey(payPeriod.getStartDate());
+            int lastMonth = monthKey(payPeriod.getEndDate());
+            for (Map.Entry<Integer, Long> month : months.entrySet()) {
+                if (month.getKey() >= firstMonth && month.getKey() <= lastMonth) {
+                    version = Math.max(version, month.getValue());
+                }
+            }
+        }
+        return version;
+    }
+
+    private void touchEmployee(String employeeNumber) {
+        employeeVersions.put(employeeNumber, versionClock.incrementAndGet());
+    }
+
+    // After a bulk load every earlier result is stale
+    private void invalidateAll() {
+        dataEpoch = versionClock.incrementAndGet();
+        employeeVersions.clear();
+        timeLogVersions.clear();
+        payslipCache.clear();
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
     }
 
     /**
@@ -109,18 +562,89 @@ public class PayrollSystem {
      * @return A list of time logs for the employee within the date range
      */
     public List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate) {
-        List<TimeLog> employeeTimeLogs = new ArrayList<>();
+        return attendanceStore.getEmployeeTimeLogs(employeeNumber, startDate, endDate);
+    }
 
-        for (TimeLog log : timeLogs) {
-            if (log.getEmployeeNumber().equals(employeeNumber)) {
-                LocalDate logDate = log.getDate();
-                if ((logDate.isEqual(startDate) || logDate.isAfter(startDate)) &&
-                        (logDate.isEqual(endDate) || logDate.isBefore(endDate))) {
-                    employeeTimeLogs.add(log);
-                }
-            }
+    // Reads an employee's punches in a date range as seconds from midnight, without TimeLog objects
+    public void forEachPunch(String employeeNumber, LocalDate startDate, LocalDate endDate,
+                             AttendanceStore.PunchConsumer consumer) {
+        attendanceStore.forEachPunch(employeeNumber, startDate, endDate, consumer);
+    }
+
+    // Number of an employee's time logs within a date range, counted in the store
+    public int countEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        return attendanceStore.countEmployeeTimeLogs(employeeNumber, startDate, endDate);
+    }
+
+    /**
+     * Gets one page of an employee's time logs within a date range
+     * @param employeeNumber The employee number to find time logs for
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @param offset The number of time logs to skip, in the requested order
+     * @param limit The most time logs to return
+     * @param newestFirst true for latest date first, false for earliest first
+     * @return The time logs of the page
+     */
+    public List<TimeLog> getEmployeeTimeLogs(String employeeNumber, LocalDate startDate, LocalDate endDate,
+                                             int offset, int limit, boolean newestFirst) {
+        return attendanceStore.getEmployeeTimeLogs(employeeNumber, startDate, endDate, offset, limit, newestFirst);
+    }
+
+    /**
+     * Finds the employees with no attendance on a date
+     * @param date The date to check
+     * @return The employee numbers of everyone without a time log on that date
+     */
+    public List<String> getAbsentEmployees(LocalDate date) {
+        List<String> employeeNumbers = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            employeeNumbers.add(employee.getEmployeeNumber());
         }
+        return attendanceIndex.getAbsentEmployees(date, employeeNumbers);
+    }
+
+    /**
+     * Gets how many employees were present on each day of a date range
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return One head count per day, starting with startDate
+     */
+    public int[] getDailyPresenceCounts(LocalDate startDate, LocalDate endDate) {
+        return attendanceIndex.getPresenceCounts(startDate, endDate);
+    }
+
+    /**
+     * Gets the share of employees present on a date
+     * @param date The date to check
+     * @return The coverage from 0.0 to 1.0, or 0.0 when there are no employees
+     */
+    public double getAttendanceCoverage(LocalDate date) {
+        if (employees.isEmpty()) {
+            return 0.0;
+        }
+        return attendanceIndex.countPresent(date) / (double) employees.size();
+    }
 
-        return employeeTimeLogs;
+    /**
+     * Lists the weekdays an employee missed within a date range
+     * @param employeeNumber The employee number to check
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return The missed weekdays in ascending order
+     */
+    public List<LocalDate> getMissedWorkdays(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        return attendanceIndex.getMissedWorkdays(employeeNumber, startDate, endDate);
+    }
+
+    /**
+     * Gets an employee's attendance rate over the weekdays of a date range
+     * @param employeeNumber The employee number to check
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return The attendance rate from 0.0 to 1.0
+     */
+    public double getAttendanceRate(String employeeNumber, LocalDate startDate, LocalDate endDate) {
+        return attendanceIndex.getAttendanceRate(employeeNumber, startDate, endDate);
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.group.motorphapp.model;
+
+/**
+ * Payroll amounts summed in whole centavos. Each entry's amounts are
+ * rounded to the centavo once and then added as longs, so the sum is exact
+ * and the same in any order. Parallel runs, different thread counts and
+ * entries replaced one at a time all give identical totals.
+ */
+public class PayrollTotals {
+    private int employeeCount;
+    private long grossPay;
+    private long allowances;
+    private long sss;
+    private long philhealth;
+    private long pagibig;
+    private long withholdingTax;
+    private long netPay;
+
+    /**
+     * Converts an amount to whole centavos, rounding half up
+     * @param amount The amount in pesos
+     * @return The amount in centavos
+     */
+    public static long toCentavos(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public static double toPesos(long centavos) {
+        return centavos / 100.0;
+    }
+
+    public void add(PayrollEntry entry) {
+        addToTotals(entry, 1);
+    }
+
+    public void subtract(PayrollEntry entry) {
+        addToTotals(entry, -1);
+    }
+
+    // Adds (sign 1) or subtracts (sign -1) an entry's amounts
+    private void addToTotals(PayrollEntry entry, int sign) {
+        employeeCount += sign;
+        grossPay += sign * toCentavos(entry.getGrossPay());
+        allowances += sign * toCentavos(entry.getTotalAllowances());
+        sss += sign * toCentavos(entry.getSssContribution());
+        philhealth += sign * toCentavos(entry.getPhilhealthContribution());
+        pagibig += sign * toCentavos(entry.getPagibigContribution());
+        withholdingTax += sign * toCentavos(entry.getWithholdingTax());
+        netPay += sign * toCentavos(entry.getNetPay());
+    }
+
+    /**
+     * Adds another set of totals to this one, as when merging partial results
+     * @param other The totals to add
+     * @return These totals
+     */
+    public PayrollTotals combine(PayrollTotals other) {
+        employeeCount += other.employeeCount;
+        grossPay += other.grossPay;
+        allowances += other.allowances;
+        sss += other.sss;
+        philhealth += other.philhealth;
+        pagibig += other.pagibig;
+        withholdingTax += other.withholdingTax;
+        netPay += other.netPay;
+        return this;
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public double getGrossPay() {
+        return toPesos(grossPay);
+    }
+
+    public double getAllowances() {
+        return toPesos(allowances);
+    }
+
+    public double getSssContribution() {
+        return toPesos(sss);
+    }
+
+    public double getPhilhealthContribution() {
+        return toPesos(philhealth);
+    }
+
+    public double getPagibigContribution() {
+        return toPesos(pagibig);
+    }
+
+    public double getWithholdingTax() {
+        return toPesos(withholdingTax);
+    }
+
+    public double getNetPay() {
+        return toPesos(netPay);
+    }
+
+    public long getGrossPayCentavos() {
+        return grossPay;
+    }
+
+    public long getNetPayCentavos() {
+        return netPay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PayrollTotals)) {
+            return false;
+        }
+        PayrollTotals other = (PayrollTotals) o;
+        return employeeCount == other.employeeCount && grossPay == other.grossPay
+                && allowances == other.allowances && sss == other.sss
+                && philhealth == other.philhealth && pagibig == other.pagibig
+                && withholdingTax == other.withholdingTax && netPay == other.netPay;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(grossPay) * 31 + Long.hashCode(netPay);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d employees, gross %.2f, allowances %.2f, SSS %.2f, PhilHealth %.2f, Pag-IBIG %.2f, tax %.2f, net %.2f",
+                employeeCount, getGrossPay(), getAllowances(), getSssContribution(), getPhilhealthContribution(),
+                getPagibigContribution(), getWithholdingTax(), getNetPay());
+    }
+}
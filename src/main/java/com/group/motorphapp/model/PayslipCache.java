@@ -0,0 +1,151 @@
+package com.group.motorphapp.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded, least-recently-used cache of computed payroll entries keyed by
+ * employee and pay period. Each entry remembers the data and rate versions
+ * it was computed from; a lookup with different versions is a miss, so
+ * only results whose inputs actually changed are recomputed.
+ */
+public class PayslipCache {
+    private final int maxEntries;
+    private final LinkedHashMap<Key, CachedEntry> entries;
+    private long hits;
+    private long misses;
+
+    public PayslipCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1.");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedEntry> eldest) {
+                return size() > PayslipCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Looks up a cached payroll entry
+     * @param employeeNumber The employee number
+     * @param payPeriod The pay period
+     * @param dataVersion The current version of the employee's record and time logs in the period
+     * @param rateVersion The current version of the rate tables
+     * @return The cached entry, or null if absent or computed from older data
+     */
+    public synchronized PayrollEntry get(String employeeNumber, PayPeriod payPeriod, long dataVersion, long rateVersion) {
+        Key key = new Key(employeeNumber, payPeriod);
+        CachedEntry cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        if (cached.dataVersion != dataVersion || cached.rateVersion != rateVersion) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return cached.entry;
+    }
+
+    /**
+     * Stores a computed payroll entry
+     * @param entry The computed entry
+     * @param dataVersion The data version the entry was computed from
+     * @param rateVersion The rate table version the entry was computed from
+     */
+    public synchronized void put(PayrollEntry entry, long dataVersion, long rateVersion) {
+        entries.put(new Key(entry.getEmployeeNumber(), entry.getPayPeriod()),
+                new CachedEntry(entry, dataVersion, rateVersion));
+    }
+
+    // Drops every cached period of an employee
+    public synchronized void invalidateEmployee(String employeeNumber) {
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().employeeNumber.equals(employeeNumber)) {
+                keys.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache
+     * @return The hit rate from 0.0 to 1.0, or 0.0 before any lookup
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : hits / (double) lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Payslip cache: %d/%d entries, %d hits, %d misses (%.1f%% hit rate)",
+                entries.size(), maxEntries, hits, misses, getHitRate() * 100);
+    }
+
+    private static final class Key {
+        private final String employeeNumber;
+        private final PayPeriod payPeriod;
+
+        private Key(String employeeNumber, PayPeriod payPeriod) {
+            this.employeeNumber = employeeNumber;
+            this.payPeriod = payPeriod;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return employeeNumber.equals(key.employeeNumber) && payPeriod.equals(key.payPeriod);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeNumber, payPeriod);
+        }
+    }
+
+    private static final class CachedEntry {
+        private final PayrollEntry entry;
+        private final long dataVersion;
+        private final long rateVersion;
+
+        private CachedEntry(PayrollEntry entry, long dataVersion, long rateVersion) {
+            this.entry = entry;
+            this.dataVersion = dataVersion;
+            this.rateVersion = rateVersion;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.group.motorphapp.model;
+
+import java.time.LocalDate;
+
+/**
+ * Receives single time log edits made through PayrollSystem.
+ */
+public interface TimeLogListener {
+    /**
+     * Called after one of an employee's time logs was added, changed or removed
+     * @param employeeNumber The employee whose time logs changed
+     * @param date The date of the changed time log
+     */
+    void timeLogChanged(String employeeNumber, LocalDate date);
+}
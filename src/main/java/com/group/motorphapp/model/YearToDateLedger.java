@@ -0,0 +1,182 @@
+package com.group.motorphapp.model;
+
+import com.group.motorphapp.calculator.WithholdingTaxCalculator;
+
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One employee's running totals for a calendar year. Each pay period is
+ * posted once; posting it again replaces the earlier figures, so re-running
+ * or correcting a period never double counts. A period that overlaps a
+ * different posted period is refused. Annualized tax is computed from the
+ * totals alone, without revisiting any month.
+ */
+public class YearToDateLedger {
+    private static final WithholdingTaxCalculator TAX_CALCULATOR = new WithholdingTaxCalculator();
+
+    private final String employeeNumber;
+    private final int year;
+    private final Map<PayPeriod, PayrollEntry> postedEntries = new HashMap<>();
+
+    // Totals in centavos, so posting and replacing periods adds and subtracts exactly
+    private long grossPay;
+    private long allowances;
+    private long sss;
+    private long philhealth;
+    private long pagibig;
+    private long taxableIncome;
+    private long taxWithheld;
+    private long netPay;
+    private long daysCovered;
+
+    public YearToDateLedger(String employeeNumber, int year) {
+        this.employeeNumber = employeeNumber;
+        this.year = year;
+    }
+
+    /**
+     * Adds a period's payroll to the totals, replacing any earlier posting of that period
+     * @param entry The payroll entry to post
+     * @return The earlier posting of the same period, or null if there was none
+     * @throws IllegalArgumentException If the period overlaps a different posted period
+     */
+    public synchronized PayrollEntry post(PayrollEntry entry) {
+        PayPeriod overlapping = findOverlapping(entry.getPayPeriod());
+        if (overlapping != null) {
+            throw new IllegalArgumentException("Pay period " + entry.getPayPeriod() + " overlaps " + overlapping
+                    + ", already posted for employee " + employeeNumber);
+        }
+        PayrollEntry previous = postedEntries.put(entry.getPayPeriod(), entry);
+        if (previous != null) {
+            addToTotals(previous, -1);
+        }
+        addToTotals(entry, 1);
+        return previous;
+    }
+
+    /**
+     * Takes a period's posting back out of the totals
+     * @param payPeriod The pay period to remove
+     * @return The removed posting, or null if the period was not posted
+     */
+    public synchronized PayrollEntry remove(PayPeriod payPeriod) {
+        PayrollEntry previous = postedEntries.remove(payPeriod);
+        if (previous != null) {
+            addToTotals(previous, -1);
+        }
+        return previous;
+    }
+
+    /**
+     * Finds a posted period that shares days with a period without being the same period
+     * @param payPeriod The pay period about to be posted
+     * @return The overlapping posted period, or null if there is none
+     */
+    public synchronized PayPeriod findOverlapping(PayPeriod payPeriod) {
+        for (PayPeriod posted : postedEntries.keySet()) {
+            if (!posted.equals(payPeriod) && posted.overlaps(payPeriod)) {
+                return posted;
+            }
+        }
+        return null;
+    }
+
+    // Adds (sign 1) or subtracts (sign -1) an entry's amounts
+    private void addToTotals(PayrollEntry entry, int sign) {
+        PayPeriod period = entry.getPayPeriod();
+        grossPay += sign * PayrollTotals.toCentavos(entry.getGrossPay());
+        allowances += sign * PayrollTotals.toCentavos(entry.getTotalAllowances());
+        sss += sign * PayrollTotals.toCentavos(entry.getSssContribution());
+        philhealth += sign * PayrollTotals.toCentavos(entry.getPhilhealthContribution());
+        pagibig += sign * PayrollTotals.toCentavos(entry.getPagibigContribution());
+        taxableIncome += sign * PayrollTotals.toCentavos(entry.getTaxableIncome());
+        taxWithheld += sign * PayrollTotals.toCentavos(entry.getWithholdingTax());
+        netPay += sign * PayrollTotals.toCentavos(entry.getNetPay());
+        daysCovered += sign * (ChronoUnit.DAYS.between(period.getStartDate(), period.getEndDate()) + 1);
+    }
+
+    /**
+     * Projects the year's taxable income from the periods posted so far
+     * @return The year-to-date taxable income scaled to a full year
+     */
+    public synchronized double getAnnualizedTaxableIncome() {
+        if (daysCovered <= 0) {
+            return 0.0;
+        }
+        return getTaxableIncome() * Year.of(year).length() / daysCovered;
+    }
+
+    // Tax due for the whole year if the rest of it pays like the periods posted so far
+    public synchronized double getAnnualizedWithholdingTax() {
+        return TAX_CALCULATOR.calculateAnnualTax(getAnnualizedTaxableIncome());
+    }
+
+    // Tax due on the taxable income posted so far, treated as the year's income
+    public synchronized double getAnnualTaxDue() {
+        return TAX_CALCULATOR.calculateAnnualTax(getTaxableIncome());
+    }
+
+    /**
+     * Gets the year-end adjustment once every period of the year is posted
+     * @return Tax still to withhold if positive, or to refund if negative
+     */
+    public synchronized double getYearEndAdjustment() {
+        return getAnnualTaxDue() - getTaxWithheld();
+    }
+
+    public String getEmployeeNumber() {
+        return employeeNumber;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public synchronized double getGrossPay() {
+        return PayrollTotals.toPesos(grossPay);
+    }
+
+    public synchronized double getAllowances() {
+        return PayrollTotals.toPesos(allowances);
+    }
+
+    public synchronized double getSssContribution() {
+        return PayrollTotals.toPesos(sss);
+    }
+
+    public synchronized double getPhilhealthContribution() {
+        return PayrollTotals.toPesos(philhealth);
+    }
+
+    public synchronized double getPagibigContribution() {
+        return PayrollTotals.toPesos(pagibig);
+    }
+
+    public synchronized double getTotalContributions() {
+        return PayrollTotals.toPesos(sss + philhealth + pagibig);
+    }
+
+    public synchronized double getTaxableIncome() {
+        return PayrollTotals.toPesos(taxableIncome);
+    }
+
+    public synchronized double getTaxWithheld() {
+        return PayrollTotals.toPesos(taxWithheld);
+    }
+
+    public synchronized double getNetPay() {
+        return PayrollTotals.toPesos(netPay);
+    }
+
+    public synchronized int getPeriodCount() {
+        return postedEntries.size();
+    }
+
+    public synchronized Map<PayPeriod, PayrollEntry> getPostedEntries() {
+        return Collections.unmodifiableMap(new HashMap<>(postedEntries));
+    }
+}
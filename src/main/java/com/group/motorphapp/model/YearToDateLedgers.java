@@ -0,0 +1,242 @@
+package com.group.motorphapp.model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Year-to-date ledgers of every employee, one per employee and calendar
+ * year. A pay period belongs to the year its last day falls in.
+ * Only finalized payroll runs are posted. Every posting is saved to the
+ * ledger file, one tab-separated line per employee and pay period, and read
+ * back on startup, so the totals survive a restart.
+ */
+public class YearToDateLedgers {
+    // Set -Dmotorph.payroll.ledgerFile=<file> to keep the ledgers elsewhere
+    public static final String LEDGER_FILE_PROPERTY = "motorph.payroll.ledgerFile";
+    private static final String USER_DIR = System.getProperty("user.dir");
+    // Written at runtime, so kept in a data directory rather than with the bundled resources
+    public static final String DEFAULT_LEDGER_FILE = USER_DIR + "/data/year-to-date-ledgers.tsv";
+
+    private static final String HEADER = "EMPLOYEE NUMBER\tLAST NAME\tFIRST NAME\tPOSITION\tPERIOD START\tPERIOD END"
+            + "\tGROSS PAY\tRICE SUBSIDY\tPHONE ALLOWANCE\tCLOTHING ALLOWANCE\tSSS\tPHILHEALTH\tPAGIBIG\tWITHHOLDING TAX";
+    private static final int FIELDS = 14;
+
+    private final Map<Integer, Map<String, YearToDateLedger>> ledgersByYear = new ConcurrentHashMap<>();
+    private final Path file;
+    // Set when the ledger file exists but could not be read; posting is refused so it is not overwritten
+    private String loadError;
+
+    public YearToDateLedgers() {
+        this(getDefaultFile());
+    }
+
+    /**
+     * Opens the ledgers saved in a file
+     * @param file The ledger file, or null to keep the ledgers in memory only
+     */
+    public YearToDateLedgers(Path file) {
+        this.file = file;
+        if (file != null) {
+            load();
+        }
+    }
+
+    public static Path getDefaultFile() {
+        return Paths.get(System.getProperty(LEDGER_FILE_PROPERTY, DEFAULT_LEDGER_FILE));
+    }
+
+    /**
+     * Posts one payroll entry to its employee's ledger and saves the ledgers
+     * @param entry The payroll entry to post
+     * @throws IllegalArgumentException If the entry's period overlaps a different posted period
+     */
+    public void post(PayrollEntry entry) {
+        List<PayrollEntry> entries = new ArrayList<>();
+        entries.add(entry);
+        postEntries(entries);
+    }
+
+    /**
+     * Posts every entry of a finalized payroll run and saves the ledgers.
+     * Nothing is posted if any entry's period overlaps a different period
+     * already posted for that employee, or if the ledgers cannot be saved.
+     * @param register The finalized payroll register
+     * @throws IllegalArgumentException If the run overlaps a period already posted
+     */
+    public void postAll(PayrollRegister register) {
+        postEntries(register.getEntries());
+    }
+
+    private synchronized void postEntries(List<PayrollEntry> entries) {
+        if (loadError != null) {
+            throw new IllegalStateException("Year-to-date ledgers were not loaded, so nothing can be posted: " + loadError);
+        }
+
+        // Check everything first so a refused run leaves the ledgers as they were
+        for (PayrollEntry entry : entries) {
+            PayPeriod period = entry.getPayPeriod();
+            // A period crossing New Year can overlap periods of the year it starts in
+            for (int year = period.getStartDate().getYear(); year <= period.getEndDate().getYear(); year++) {
+                YearToDateLedger ledger = getLedger(entry.getEmployeeNumber(), year);
+                PayPeriod overlapping = ledger == null ? null : ledger.findOverlapping(period);
+                if (overlapping != null) {
+                    throw new IllegalArgumentException("Pay period " + period + " overlaps " + overlapping
+                            + ", already posted for employee " + entry.getEmployeeNumber());
+                }
+            }
+        }
+
+        List<PayrollEntry> replaced = new ArrayList<>(entries.size());
+        for (PayrollEntry entry : entries) {
+            replaced.add(ledgerFor(entry).post(entry));
+        }
+        try {
+            save();
+        } catch (IOException e) {
+            // Put back what was posted before so memory matches the file
+            for (int i = 0; i < entries.size(); i++) {
+                YearToDateLedger ledger = ledgerFor(entries.get(i));
+                if (replaced.get(i) != null) {
+                    ledger.post(replaced.get(i));
+                } else {
+                    ledger.remove(entries.get(i).getPayPeriod());
+                }
+            }
+            throw new IllegalStateException("Cannot save year-to-date ledgers: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets an employee's ledger for a year
+     * @param employeeNumber The employee number
+     * @param year The calendar year
+     * @return The ledger, or null if nothing was posted for that employee and year
+     */
+    public YearToDateLedger getLedger(String employeeNumber, int year) {
+        Map<String, YearToDateLedger> ledgers = ledgersByYear.get(year);
+        return ledgers == null ? null : ledgers.get(employeeNumber);
+    }
+
+    // Every ledger of a year
+    public List<YearToDateLedger> getLedgers(int year) {
+        Map<String, YearToDateLedger> ledgers = ledgersByYear.get(year);
+        return ledgers == null ? new ArrayList<>() : new ArrayList<>(ledgers.values());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Forgets every posting, in memory and in the ledger file
+    public synchronized void clear() {
+        ledgersByYear.clear();
+        try {
+            save();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot save year-to-date ledgers: " + e.getMessage(), e);
+        }
+    }
+
+    private YearToDateLedger ledgerFor(PayrollEntry entry) {
+        int year = entry.getPayPeriod().getEndDate().getYear();
+        return ledgersByYear.computeIfAbsent(year, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(entry.getEmployeeNumber(), number -> new YearToDateLedger(number, year));
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            // Skip header line
+            String line = reader.readLine();
+            int lineNumber = 1;
+            int count = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] data = line.split("\t", -1);
+                if (data.length != FIELDS) {
+                    throw new IllegalArgumentException("Invalid ledger line " + lineNumber + ": " + line);
+                }
+                PayPeriod period = new PayPeriod(LocalDate.parse(data[4]), LocalDate.parse(data[5]));
+                PayrollEntry entry = new PayrollEntry(data[0], data[1], data[2], data[3], period,
+                        Double.parseDouble(data[6]), Double.parseDouble(data[7]), Double.parseDouble(data[8]),
+                        Double.parseDouble(data[9]), Double.parseDouble(data[10]), Double.parseDouble(data[11]),
+                        Double.parseDouble(data[12]), Double.parseDouble(data[13]));
+                ledgerFor(entry).post(entry);
+                count++;
+            }
+            System.out.println("Loaded " + count + " year-to-date postings from " + file);
+        } catch (IOException | DateTimeParseException | IllegalArgumentException e) {
+            loadError = e.getMessage();
+            ledgersByYear.clear();
+            System.err.println("Error reading year-to-date ledgers from " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Writes to a temporary file first so a failed save leaves the previous ledgers intact
+    private void save() throws IOException {
+        if (file == null) {
+            return;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, "ledgers", ".tsv.tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (Map<String, YearToDateLedger> ledgers : ledgersByYear.values()) {
+                    for (YearToDateLedger ledger : ledgers.values()) {
+                        for (PayrollEntry entry : ledger.getPostedEntries().values()) {
+                            writer.write(format(entry));
+                            writer.newLine();
+                        }
+                    }
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String format(PayrollEntry entry) {
+        return String.join("\t",
+                clean(entry.getEmployeeNumber()),
+                clean(entry.getLastName()),
+                clean(entry.getFirstName()),
+                clean(entry.getPosition()),
+                entry.getPayPeriod().getStartDate().toString(),
+                entry.getPayPeriod().getEndDate().toString(),
+                Double.toString(entry.getGrossPay()),
+                Double.toString(entry.getRiceSubsidy()),
+                Double.toString(entry.getPhoneAllowance()),
+                Double.toString(entry.getClothingAllowance()),
+                Double.toString(entry.getSssContribution()),
+                Double.toString(entry.getPhilhealthContribution()),
+                Double.toString(entry.getPagibigContribution()),
+                Double.toString(entry.getWithholdingTax()));
+    }
+
+    // Tabs and line breaks would split a record
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,250 @@
+package com.group.motorphapp.payroll;
+
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollTotals;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only record of the employees a batch payroll run has finished for
+ * one pay period. Each completed entry is one tab-separated line; after
+ * every batch a checkpoint line with the partial totals is written and the
+ * file is synced to disk. Reopening the file gives back the completed
+ * entries, so a rerun only computes the employees still missing. An
+ * employee written twice keeps the later line, and a line cut short by a
+ * crash fails its checksum and is ignored. The first line records a
+ * fingerprint of the run's inputs; a checkpoint written for other inputs is
+ * deleted on open rather than resumed.
+ */
+public class PayrollCheckpoint implements Closeable {
+    // Set -Dmotorph.payroll.checkpointDirectory=<dir> to keep checkpoints elsewhere
+    public static final String CHECKPOINT_DIRECTORY_PROPERTY = "motorph.payroll.checkpointDirectory";
+    private static final String USER_DIR = System.getProperty("user.dir");
+    // Written at runtime, so kept in the data directory next to the year-to-date ledgers
+    public static final String DEFAULT_CHECKPOINT_DIRECTORY = USER_DIR + "/data/checkpoints";
+
+    private static final String ENTRY = "E";
+    private static final String CHECKPOINT = "#CHECKPOINT";
+    private static final String INPUTS = "#INPUTS";
+    private static final int ENTRY_FIELDS = 14;
+
+    private final Path file;
+    private final PayPeriod payPeriod;
+    private final Map<String, PayrollEntry> completedEntries = new LinkedHashMap<>();
+    // Partial totals of completedEntries in centavos, kept as entries are completed
+    private long grossPayCentavos;
+    private long netPayCentavos;
+    private FileOutputStream output;
+    private BufferedWriter writer;
+
+    private PayrollCheckpoint(Path file, PayPeriod payPeriod) {
+        this.file = file;
+        this.payPeriod = payPeriod;
+    }
+
+    /**
+     * Opens the checkpoint of a pay period in the configured directory, reading back what it holds
+     * @param payPeriod The pay period of the run
+     * @param inputFingerprint Identifies the data, rates and rules the run computes from
+     * @return The opened checkpoint
+     * @throws IOException If the file cannot be read or created
+     */
+    public static PayrollCheckpoint open(PayPeriod payPeriod, String inputFingerprint) throws IOException {
+        return open(getDirectory(), payPeriod, inputFingerprint);
+    }
+
+    /**
+     * Opens the checkpoint of a pay period, reading back what it holds. A
+     * checkpoint written for a different input fingerprint, or without one,
+     * is deleted and a new one started.
+     * @param directory The checkpoint directory
+     * @param payPeriod The pay period of the run
+     * @param inputFingerprint Identifies the data, rates and rules the run computes from
+     * @return The opened checkpoint
+     * @throws IOException If the file cannot be read or created
+     */
+    public static PayrollCheckpoint open(Path directory, PayPeriod payPeriod, String inputFingerprint) throws IOException {
+        Files.createDirectories(directory);
+        PayrollCheckpoint checkpoint = new PayrollCheckpoint(fileFor(directory, payPeriod), payPeriod);
+        if (Files.exists(checkpoint.file) && !inputFingerprint.equals(readFingerprint(checkpoint.file))) {
+            System.out.println("Discarding checkpoint " + checkpoint.file + ": it was written for different payroll inputs");
+            Files.delete(checkpoint.file);
+        }
+        checkpoint.load();
+        checkpoint.endWithNewLine();
+        checkpoint.output = new FileOutputStream(checkpoint.file.toFile(), true);
+        checkpoint.writer = new BufferedWriter(new OutputStreamWriter(checkpoint.output, StandardCharsets.UTF_8));
+        if (Files.size(checkpoint.file) == 0) {
+            checkpoint.writer.write(INPUTS + "\t" + inputFingerprint);
+            checkpoint.writer.newLine();
+            checkpoint.writer.flush();
+            checkpoint.output.getFD().sync();
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Deletes the checkpoint of a pay period so the next run starts from scratch
+     * @param directory The checkpoint directory
+     * @param payPeriod The pay period
+     * @return true if a checkpoint file was deleted
+     * @throws IOException If the file cannot be deleted
+     */
+    public static boolean discard(Path directory, PayPeriod payPeriod) throws IOException {
+        return Files.deleteIfExists(fileFor(directory, payPeriod));
+    }
+
+    public static Path getDirectory() {
+        return Paths.get(System.getProperty(CHECKPOINT_DIRECTORY_PROPERTY, DEFAULT_CHECKPOINT_DIRECTORY));
+    }
+
+    // Entries already completed, by employee number
+    public Map<String, PayrollEntry> getCompletedEntries() {
+        return completedEntries;
+    }
+
+    public boolean isCompleted(String employeeNumber) {
+        return completedEntries.containsKey(employeeNumber);
+    }
+
+    /**
+     * Appends a batch of completed entries followed by a checkpoint line and syncs the file
+     * @param entries The entries completed since the last checkpoint
+     * @throws IOException If the file cannot be written
+     */
+    public void record(List<PayrollEntry> entries) throws IOException {
+        for (PayrollEntry entry : entries) {
+            String record = String.join("\t",
+                    ENTRY,
+                    clean(entry.getEmployeeNumber()),
+                    clean(entry.getLastName()),
+                    clean(entry.getFirstName()),
+                    clean(entry.getPosition()),
+                    Double.toString(entry.getGrossPay()),
+                    Double.toString(entry.getRiceSubsidy()),
+                    Double.toString(entry.getPhoneAllowance()),
+                    Double.toString(entry.getClothingAllowance()),
+                    Double.toString(entry.getSssContribution()),
+                    Double.toString(entry.getPhilhealthContribution()),
+                    Double.toString(entry.getPagibigContribution()),
+                    Double.toString(entry.getWithholdingTax()));
+            writer.write(record + "\t" + checksum(record));
+            writer.newLine();
+            complete(entry);
+        }
+
+        // Partial totals so far, for anyone inspecting the file
+        writer.write(String.format("%s\t%d\t%.2f\t%.2f", CHECKPOINT, completedEntries.size(),
+                PayrollTotals.toPesos(grossPayCentavos), PayrollTotals.toPesos(netPayCentavos)));
+        writer.newLine();
+        writer.flush();
+        output.getFD().sync();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public PayPeriod getPayPeriod() {
+        return payPeriod;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split("\t", -1);
+                if (data.length != ENTRY_FIELDS || !data[0].equals(ENTRY)
+                        || !line.endsWith("\t" + checksum(line.substring(0, line.lastIndexOf('\t'))))) {
+                    if (line.startsWith(ENTRY + "\t")) {
+                        System.err.println("Skipping damaged checkpoint line in " + file + ": " + line);
+                    }
+                    continue;
+                }
+                try {
+                    PayrollEntry entry = new PayrollEntry(data[1], data[2], data[3], data[4], payPeriod,
+                            Double.parseDouble(data[5]), Double.parseDouble(data[6]), Double.parseDouble(data[7]),
+                            Double.parseDouble(data[8]), Double.parseDouble(data[9]), Double.parseDouble(data[10]),
+                            Double.parseDouble(data[11]), Double.parseDouble(data[12]));
+                    complete(entry);
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping invalid checkpoint line in " + file + ": " + line);
+                }
+            }
+        }
+    }
+
+    // Marks an entry completed; a later entry for the same employee replaces the earlier one in the totals
+    private void complete(PayrollEntry entry) {
+        PayrollEntry previous = completedEntries.put(entry.getEmployeeNumber(), entry);
+        if (previous != null) {
+            grossPayCentavos -= PayrollTotals.toCentavos(previous.getGrossPay());
+            netPayCentavos -= PayrollTotals.toCentavos(previous.getNetPay());
+        }
+        grossPayCentavos += PayrollTotals.toCentavos(entry.getGrossPay());
+        netPayCentavos += PayrollTotals.toCentavos(entry.getNetPay());
+    }
+
+    // A crash can leave a partial last line; start the next record on a fresh one
+    private void endWithNewLine() throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return;
+        }
+        try (RandomAccessFile access = new RandomAccessFile(file.toFile(), "rw")) {
+            access.seek(access.length() - 1);
+            if (access.read() != '\n') {
+                access.seek(access.length());
+                access.write('\n');
+            }
+        }
+    }
+
+    // The fingerprint on the first line, or null if the file has none
+    private static String readFingerprint(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            return line != null && line.startsWith(INPUTS + "\t") ? line.substring(INPUTS.length() + 1) : null;
+        }
+    }
+
+    private static String checksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static Path fileFor(Path directory, PayPeriod payPeriod) {
+        return directory.resolve("payroll-" + payPeriod.getStartDate() + "_" + payPeriod.getEndDate() + ".tsv");
+    }
+
+    // Tabs and line breaks would split a record
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,446 @@
+package com.group.motorphapp.payroll;
+
+import com.group.motorphapp.calculator.AttendanceColumns;
+import com.group.motorphapp.calculator.DeductionRuleRegistry;
+import com.group.motorphapp.calculator.DeductionRuleSet;
+import com.group.motorphapp.calculator.GrossPayKernel;
+import com.group.motorphapp.calculator.RateTableEngine;
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollCalculator;
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollRegister;
+import com.group.motorphapp.model.PayrollSystem;
+import com.group.motorphapp.model.TimeLog;
+import com.group.motorphapp.model.TimeLogListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Computes payroll for every employee in a PayrollSystem for one pay period.
+ * Employees are split across a fork/join pool; each entry is written to its
+ * roster slot so the register comes out in roster order whatever the
+ * thread count.
+ * The engine keeps the registers it produced together with the data and
+ * rate versions each entry was computed from. When a single time log is edited, only that
+ * employee's entry in the affected periods is recomputed and the register
+ * totals are adjusted by the difference.
+ * Runs only compute; nothing reaches the year-to-date ledgers until a run
+ * is finalized with finalizeRun.
+ */
+public class PayrollRunEngine {
+    // Employees computed between two checkpoints of a resumable run
+    public static final int CHECKPOINT_INTERVAL = 500;
+
+    private final PayrollSystem payrollSystem;
+    private final PayrollCalculator calculator;
+    private final int parallelism;
+    // Shared by every batch of this engine; idle workers exit on their own, so it needs no shutdown
+    private final ForkJoinPool pool;
+    private final Map<PayPeriod, TrackedRun> trackedRuns = new ConcurrentHashMap<>();
+    private final TimeLogListener timeLogListener = this::timeLogChanged;
+
+    public PayrollRunEngine(PayrollSystem payrollSystem) {
+        this(payrollSystem, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PayrollRunEngine(PayrollSystem payrollSystem, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.payrollSystem = payrollSystem;
+        this.calculator = new PayrollCalculator();
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Runs payroll for all employees
+     * @param payPeriod The pay period to compute
+     * @return The payroll register for the period
+     */
+    public PayrollRegister run(PayPeriod payPeriod) {
+        return runPeriods(Collections.singletonList(payPeriod)).get(payPeriod);
+    }
+
+    /**
+     * Computes a pay period's register for a report or export on the columnar
+     * kernel. The register is not tracked for later edits and is never posted
+     * to the year-to-date ledgers.
+     * @param payPeriod The pay period to compute
+     * @return The payroll register for the period
+     */
+    public PayrollRegister computeRegister(PayPeriod payPeriod) {
+        return computeColumnar(payPeriod, false);
+    }
+
+    /**
+     * Runs payroll for several pay periods in one parallel batch, such as a
+     * back-pay run. Each period uses the deduction rules in force for it.
+     * @param payPeriods The pay periods to compute
+     * @return One register per pay period, in the order given
+     */
+    public Map<PayPeriod, PayrollRegister> runPeriods(List<PayPeriod> payPeriods) {
+        DeductionRuleRegistry.reloadIfModified();
+
+        // Snapshot the roster and the rules so edits during the run do not shift slots
+        List<Employee> employees = new ArrayList<>(payrollSystem.getAllEmployees());
+        List<PayPeriod> periods = new ArrayList<>(new LinkedHashSet<>(payPeriods));
+        // Read before the rules so a reload in between is caught by refresh
+        long rateVersion = RateTableEngine.getVersion();
+        DeductionRuleSet[] rules = new DeductionRuleSet[periods.size()];
+        for (int p = 0; p < rules.length; p++) {
+            rules[p] = DeductionRuleRegistry.forPeriod(periods.get(p));
+        }
+
+        // Slot p * employees + i holds employee i in period p
+        int employeeCount = employees.size();
+        PayrollEntry[] entries = new PayrollEntry[periods.size() * employeeCount];
+        long[] inputVersions = new long[entries.length];
+
+        long start = System.nanoTime();
+        runInPool(() -> IntStream.range(0, entries.length).parallel().forEach(slot -> {
+            Employee employee = employees.get(slot % employeeCount);
+            PayPeriod payPeriod = periods.get(slot / employeeCount);
+            // Read the version first so an edit during the computation is caught later
+            inputVersions[slot] = payrollSystem.getDataVersion(employee.getEmployeeNumber(), payPeriod);
+            entries[slot] = computeEntry(employee, payPeriod, rules[slot / employeeCount]);
+        }));
+        long elapsed = System.nanoTime() - start;
+
+        Map<PayPeriod, PayrollRegister> registers = new LinkedHashMap<>();
+        for (int p = 0; p < periods.size(); p++) {
+            int from = p * employeeCount;
+            PayrollRegister register = new PayrollRegister(periods.get(p),
+                    Arrays.asList(entries).subList(from, from + employeeCount), elapsed);
+            track(register, employees, Arrays.copyOfRange(inputVersions, from, from + employeeCount), rateVersion);
+            registers.put(periods.get(p), register);
+        }
+        return registers;
+    }
+
+    /**
+     * Runs a pay period as a resumable batch, checkpointing to the configured directory
+     * @param payPeriod The pay period to run
+     * @return The register of every employee
+     */
+    public PayrollRegister runResumable(PayPeriod payPeriod) {
+        return runResumable(payPeriod, PayrollCheckpoint.getDirectory());
+    }
+
+    /**
+     * Runs a pay period in batches of CHECKPOINT_INTERVAL employees, saving a checkpoint
+     * after each. Employees finished by an earlier, interrupted run are read back instead
+     * of recomputed, so running again after a crash only does the remaining work. The
+     * checkpoint is only resumed if it was written for the same inputs: the same employee
+     * records and time logs for the period, rate tables and deduction rules. Otherwise it
+     * is thrown away and every employee is computed again. The checkpoint is deleted once
+     * the run completes.
+     * @param payPeriod The pay period to run
+     * @param checkpointDirectory The directory holding the checkpoint files
+     * @return The register of every employee
+     */
+    public PayrollRegister runResumable(PayPeriod payPeriod, Path checkpointDirectory) {
+        DeductionRuleRegistry.reloadIfModified();
+        List<Employee> employees = new ArrayList<>(payrollSystem.getAllEmployees());
+        long[] inputVersions = new long[employees.size()];
+        for (int i = 0; i < inputVersions.length; i++) {
+            inputVersions[i] = payrollSystem.getDataVersion(employees.get(i).getEmployeeNumber(), payPeriod);
+        }
+        // Taken before the rules so a reload in between can only make the checkpoint look stale
+        long rateVersion = RateTableEngine.getVersion();
+        String inputFingerprint = fingerprintInputs(employees, payPeriod);
+        DeductionRuleSet rules = DeductionRuleRegistry.forPeriod(payPeriod);
+
+        long start = System.nanoTime();
+        Map<String, PayrollEntry> completed;
+        try (PayrollCheckpoint checkpoint = PayrollCheckpoint.open(checkpointDirectory, payPeriod, inputFingerprint)) {
+            List<Employee> pending = new ArrayList<>();
+            for (Employee employee : employees) {
+                if (!checkpoint.isCompleted(employee.getEmployeeNumber())) {
+                    pending.add(employee);
+                }
+            }
+            if (pending.size() < employees.size()) {
+                System.out.println("Resuming payroll " + payPeriod + " from " + checkpoint.getFile() + ": "
+                        + (employees.size() - pending.size()) + " employees already done, " + pending.size() + " left");
+            }
+
+            for (int from = 0; from < pending.size(); from += CHECKPOINT_INTERVAL) {
+                List<Employee> batch = pending.subList(from, Math.min(from + CHECKPOINT_INTERVAL, pending.size()));
+                PayrollEntry[] entries = new PayrollEntry[batch.size()];
+                runInPool(() -> IntStream.range(0, entries.length).parallel()
+                        .forEach(i -> entries[i] = computeEntry(batch.get(i), payPeriod, rules)));
+                checkpoint.record(Arrays.asList(entries));
+            }
+            completed = checkpoint.getCompletedEntries();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write payroll checkpoint: " + e.getMessage(), e);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Roster order; employees removed since the checkpoint was written are left out
+        List<PayrollEntry> entries = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            entries.add(completed.get(employee.getEmployeeNumber()));
+        }
+        PayrollRegister register = new PayrollRegister(payPeriod, entries, elapsed);
+        try {
+            PayrollCheckpoint.discard(checkpointDirectory, payPeriod);
+        } catch (IOException e) {
+            // A leftover checkpoint is harmless; its fingerprint stops it being resumed for other inputs
+            System.err.println("Could not delete payroll checkpoint: " + e.getMessage());
+        }
+        track(register, employees, inputVersions, rateVersion);
+        return register;
+    }
+
+    /**
+     * Runs payroll for all employees, computing gross pay for the whole
+     * period in one pass of the columnar kernel before the per-employee
+     * deductions
+     * @param payPeriod The pay period to compute
+     * @return The payroll register for the period
+     */
+    public PayrollRegister runColumnar(PayPeriod payPeriod) {
+        return computeColumnar(payPeriod, true);
+    }
+
+    // Tracked registers follow time log edits and can be finalized; untracked ones are snapshots
+    private PayrollRegister computeColumnar(PayPeriod payPeriod, boolean tracked) {
+        DeductionRuleRegistry.reloadIfModified();
+        long rateVersion = RateTableEngine.getVersion();
+        DeductionRuleSet rules = DeductionRuleRegistry.forPeriod(payPeriod);
+        List<Employee> employees = new ArrayList<>(payrollSystem.getAllEmployees());
+        PayrollEntry[] entries = new PayrollEntry[employees.size()];
+        long[] inputVersions = new long[employees.size()];
+        for (int i = 0; i < inputVersions.length; i++) {
+            inputVersions[i] = payrollSystem.getDataVersion(employees.get(i).getEmployeeNumber(), payPeriod);
+        }
+
+        long start = System.nanoTime();
+        double[] grossPay = GrossPayKernel.computeGrossPay(AttendanceColumns.build(employees, payrollSystem, payPeriod));
+        runInPool(() -> IntStream.range(0, entries.length).parallel()
+                .forEach(i -> entries[i] = calculator.calculatePayroll(employees.get(i), payPeriod, grossPay[i], rules)));
+        long elapsed = System.nanoTime() - start;
+
+        PayrollRegister register = new PayrollRegister(payPeriod, Arrays.asList(entries), elapsed);
+        if (tracked) {
+            track(register, employees, inputVersions, rateVersion);
+        }
+        return register;
+    }
+
+    /**
+     * Finalizes the latest run of a pay period: brings it up to date with any
+     * edits made since and posts it to the year-to-date ledgers, which are
+     * saved to disk. Finalizing the same period again replaces its postings.
+     * @param payPeriod The pay period, which must have been run by this engine
+     * @return The register that was posted
+     * @throws IllegalStateException If the period has not been run
+     * @throws IllegalArgumentException If the period overlaps a different period already posted
+     */
+    public PayrollRegister finalizeRun(PayPeriod payPeriod) {
+        TrackedRun run = trackedRuns.get(payPeriod);
+        if (run == null) {
+            throw new IllegalStateException("Payroll for " + payPeriod + " has not been run.");
+        }
+        refresh(payPeriod);
+        payrollSystem.getYearToDateLedgers().postAll(run.register);
+        System.out.println("Posted payroll " + payPeriod + " to the year-to-date ledgers");
+        return run.register;
+    }
+
+    /**
+     * Gets the latest register computed for a pay period
+     * @param payPeriod The pay period
+     * @return The register, kept current with time log edits, or null if the period was not run
+     */
+    public PayrollRegister getRegister(PayPeriod payPeriod) {
+        TrackedRun run = trackedRuns.get(payPeriod);
+        return run == null ? null : run.register;
+    }
+
+    /**
+     * Recomputes the entries of a tracked period whose inputs changed since
+     * they were computed, such as after an employee record was edited or the
+     * rate tables or deduction rules were reloaded. Employees deleted since
+     * are taken out of the register.
+     * @param payPeriod The pay period to bring up to date
+     * @return The number of entries recomputed or removed
+     */
+    public int refresh(PayPeriod payPeriod) {
+        TrackedRun run = trackedRuns.get(payPeriod);
+        if (run == null) {
+            return 0;
+        }
+        DeductionRuleRegistry.reloadIfModified();
+        int recomputed = 0;
+        for (String employeeNumber : run.inputVersions.keySet()) {
+            if (recompute(run, employeeNumber)) {
+                recomputed++;
+            }
+        }
+        return recomputed;
+    }
+
+    // Forgets every tracked register and stops listening for time log edits
+    public void stopTracking() {
+        payrollSystem.removeTimeLogListener(timeLogListener);
+        trackedRuns.clear();
+    }
+
+    private void track(PayrollRegister register, List<Employee> employees, long[] inputVersions, long rateVersion) {
+        Map<String, InputVersions> versions = new ConcurrentHashMap<>();
+        for (int i = 0; i < inputVersions.length; i++) {
+            versions.put(employees.get(i).getEmployeeNumber(), new InputVersions(inputVersions[i], rateVersion));
+        }
+        if (trackedRuns.isEmpty()) {
+            payrollSystem.addTimeLogListener(timeLogListener);
+        }
+        trackedRuns.put(register.getPayPeriod(), new TrackedRun(register, versions));
+    }
+
+    private void timeLogChanged(String employeeNumber, LocalDate date) {
+        for (TrackedRun run : trackedRuns.values()) {
+            if (run.register.getPayPeriod().contains(date)) {
+                recompute(run, employeeNumber);
+            }
+        }
+    }
+
+    // Recomputes one employee's entry if its inputs changed, or drops it if they were deleted; returns whether it did
+    private synchronized boolean recompute(TrackedRun run, String employeeNumber) {
+        Employee employee = payrollSystem.findEmployee(employeeNumber);
+        if (employee == null) {
+            // A deleted employee must not be posted when the run is finalized
+            run.inputVersions.remove(employeeNumber);
+            return run.register.removeEntry(employeeNumber) != null;
+        }
+        PayPeriod payPeriod = run.register.getPayPeriod();
+        InputVersions current = new InputVersions(payrollSystem.getDataVersion(employeeNumber, payPeriod),
+                RateTableEngine.getVersion());
+        InputVersions computedFrom = run.inputVersions.get(employeeNumber);
+        if (current.matches(computedFrom)) {
+            return false;
+        }
+        PayrollEntry entry = computeEntry(employee, payPeriod);
+        run.register.replaceEntry(entry);
+        run.inputVersions.put(employeeNumber, current);
+        return true;
+    }
+
+    /**
+     * Fingerprints everything a period's entries are computed from, so a checkpoint
+     * can be matched to its inputs across restarts, when data versions start over
+     * @param employees The roster of the run
+     * @param payPeriod The pay period
+     * @return A SHA-256 digest of the rules, rates, employee records and time logs, in hex
+     */
+    private String fingerprintInputs(List<Employee> employees, PayPeriod payPeriod) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        update(digest, DeductionRuleRegistry.getFingerprint());
+        update(digest, RateTableEngine.getInstance().getFingerprint());
+        for (Employee employee : employees) {
+            update(digest, String.join("\t", employee.getEmployeeNumber(), employee.getLastName(),
+                    employee.getFirstName(), employee.getPosition(), Double.toString(employee.getBasicSalary()),
+                    Double.toString(employee.getRiceSubsidy()), Double.toString(employee.getPhoneAllowance()),
+                    Double.toString(employee.getClothingAllowance())));
+            for (TimeLog log : payrollSystem.getEmployeeTimeLogs(
+                    employee.getEmployeeNumber(), payPeriod.getStartDate(), payPeriod.getEndDate())) {
+                update(digest, log.getDate() + "\t" + log.getTimeIn() + "\t" + log.getTimeOut());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Adds a line of text, ended so that adjacent values cannot run together
+    private static void update(MessageDigest digest, String text) {
+        digest.update(String.valueOf(text).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private void runInPool(Runnable task) {
+        runInPool(pool, task);
+    }
+
+    // Runs a parallel stream task on the given pool so it does not share the common pool
+    static void runInPool(ForkJoinPool pool, Runnable task) {
+        try {
+            pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payroll run was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Payroll run failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Computes one employee's payroll entry from their time logs
+     * @param employee The employee to pay
+     * @param payPeriod The pay period being computed
+     * @return The computed payroll entry
+     */
+    public PayrollEntry computeEntry(Employee employee, PayPeriod payPeriod) {
+        return computeEntry(employee, payPeriod, DeductionRuleRegistry.forPeriod(payPeriod));
+    }
+
+    private PayrollEntry computeEntry(Employee employee, PayPeriod payPeriod, DeductionRuleSet rules) {
+        List<TimeLog> timeLogs = payrollSystem.getEmployeeTimeLogs(
+                employee.getEmployeeNumber(), payPeriod.getStartDate(), payPeriod.getEndDate());
+        return calculator.calculatePayroll(employee, payPeriod, calculator.calculateGrossPay(employee, timeLogs), rules);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // A register and the input versions behind each of its entries
+    private static final class TrackedRun {
+        private final PayrollRegister register;
+        private final Map<String, InputVersions> inputVersions;
+
+        private TrackedRun(PayrollRegister register, Map<String, InputVersions> inputVersions) {
+            this.register = register;
+            this.inputVersions = inputVersions;
+        }
+    }
+
+    // The employee's data version and the rate version an entry was computed from
+    private static final class InputVersions {
+        private final long data;
+        private final long rates;
+
+        private InputVersions(long data, long rates) {
+            this.data = data;
+            this.rates = rates;
+        }
+
+        private boolean matches(InputVersions other) {
+            return other != null && other.data == data && other.rates == rates;
+        }
+    }
+}
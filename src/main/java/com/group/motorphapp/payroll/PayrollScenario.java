@@ -0,0 +1,195 @@
+package com.group.motorphapp.payroll;
+
+import com.group.motorphapp.calculator.DeductionRuleRegistry;
+import com.group.motorphapp.calculator.DeductionRuleSet;
+import com.group.motorphapp.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A what-if change to payroll inputs: salary raises and allowance changes
+ * for employees whose position matches, and replacement contribution or
+ * tax rules. A scenario only describes the change; PayrollSimulator applies
+ * it to copies and never touches the real employees.
+ */
+public class PayrollScenario {
+    private final String name;
+    private final List<SalaryChange> salaryChanges = new ArrayList<>();
+    private final List<AllowanceChange> allowanceChanges = new ArrayList<>();
+    private DoubleUnaryOperator sssRule;
+    private DoubleUnaryOperator philhealthRule;
+    private DoubleUnaryOperator pagibigRule;
+    private DoubleUnaryOperator withholdingTaxRule;
+
+    public PayrollScenario(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Scenario name is required.");
+        }
+        this.name = name.trim();
+    }
+
+    /**
+     * Raises the salary of matching employees. Pay is earned per hour, so the
+     * raise scales their attendance-based basic pay by the same percentage.
+     * @param position Text the position must contain, ignoring case; null or empty for everyone
+     * @param percent The raise in percent, e.g. 5 for 5%
+     * @return This scenario
+     */
+    public PayrollScenario raiseSalary(String position, double percent) {
+        salaryChanges.add(new SalaryChange(position, 1 + percent / 100.0));
+        return this;
+    }
+
+    /**
+     * Changes the monthly allowances of matching employees
+     * @param position Text the position must contain, ignoring case; null or empty for everyone
+     * @param riceSubsidy Amount added to the rice subsidy
+     * @param phoneAllowance Amount added to the phone allowance
+     * @param clothingAllowance Amount added to the clothing allowance
+     * @return This scenario
+     */
+    public PayrollScenario changeAllowances(String position, double riceSubsidy, double phoneAllowance,
+                                            double clothingAllowance) {
+        allowanceChanges.add(new AllowanceChange(position, riceSubsidy, phoneAllowance, clothingAllowance));
+        return this;
+    }
+
+    // PhilHealth as a flat rate of gross pay, capped at maximum (NaN for no cap)
+    public PayrollScenario setPhilhealthRate(double rate, double maximum) {
+        return setPhilhealthRule(DeductionRuleRegistry.compile("RATE", rate, Double.NaN, Double.NaN, maximum));
+    }
+
+    // Pag-IBIG at lowerRate up to the threshold and rate above it, capped at maximum (NaN for no cap)
+    public PayrollScenario setPagibigRate(double rate, double threshold, double lowerRate, double maximum) {
+        return setPagibigRule(DeductionRuleRegistry.compile("THRESHOLD_RATE", rate, threshold, lowerRate, maximum));
+    }
+
+    // Replaces the SSS table with a function of gross pay
+    public PayrollScenario setSssRule(DoubleUnaryOperator rule) {
+        this.sssRule = rule;
+        return this;
+    }
+
+    // Replaces the PhilHealth rule with a function of gross pay
+    public PayrollScenario setPhilhealthRule(DoubleUnaryOperator rule) {
+        this.philhealthRule = rule;
+        return this;
+    }
+
+    // Replaces the Pag-IBIG rule with a function of gross pay
+    public PayrollScenario setPagibigRule(DoubleUnaryOperator rule) {
+        this.pagibigRule = rule;
+        return this;
+    }
+
+    // Replaces the withholding tax table with a function of taxable income
+    public PayrollScenario setWithholdingTaxRule(DoubleUnaryOperator rule) {
+        this.withholdingTaxRule = rule;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the factor an employee's basic pay is multiplied by
+     * @param employee The employee
+     * @return The combined factor of every matching raise, 1.0 if none match
+     */
+    double salaryFactor(Employee employee) {
+        double factor = 1.0;
+        for (SalaryChange change : salaryChanges) {
+            if (matches(change.position, employee)) {
+                factor *= change.factor;
+            }
+        }
+        return factor;
+    }
+
+    /**
+     * Applies the salary and allowance changes to a copy of an employee
+     * @param employee The employee as stored
+     * @return The adjusted copy, or the employee itself when nothing applies
+     */
+    Employee adjust(Employee employee) {
+        double factor = salaryFactor(employee);
+        double rice = employee.getRiceSubsidy();
+        double phone = employee.getPhoneAllowance();
+        double clothing = employee.getClothingAllowance();
+        boolean changed = factor != 1.0;
+        for (AllowanceChange change : allowanceChanges) {
+            if (matches(change.position, employee)) {
+                rice += change.riceSubsidy;
+                phone += change.phoneAllowance;
+                clothing += change.clothingAllowance;
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return employee;
+        }
+        Employee adjusted = new Employee(
+                employee.getEmployeeNumber(),
+                employee.getLastName(),
+                employee.getFirstName(),
+                employee.getBasicSalary() * factor,
+                employee.getSssNumber(),
+                employee.getPhilhealthNumber(),
+                employee.getPagibigNumber(),
+                employee.getTinNumber(),
+                employee.getPosition(),
+                rice,
+                phone,
+                clothing
+        );
+        adjusted.setSupervisor(employee.getSupervisor());
+        return adjusted;
+    }
+
+    DeductionRuleSet adjustRules(DeductionRuleSet rules) {
+        return rules.withRules(philhealthRule, pagibigRule);
+    }
+
+    DoubleUnaryOperator getSssRule() {
+        return sssRule;
+    }
+
+    DoubleUnaryOperator getWithholdingTaxRule() {
+        return withholdingTaxRule;
+    }
+
+    private static boolean matches(String position, Employee employee) {
+        if (position == null || position.trim().isEmpty()) {
+            return true;
+        }
+        return employee.getPosition() != null
+                && employee.getPosition().toLowerCase().contains(position.trim().toLowerCase());
+    }
+
+    private static final class SalaryChange {
+        private final String position;
+        private final double factor;
+
+        private SalaryChange(String position, double factor) {
+            this.position = position;
+            this.factor = factor;
+        }
+    }
+
+    private static final class AllowanceChange {
+        private final String position;
+        private final double riceSubsidy;
+        private final double phoneAllowance;
+        private final double clothingAllowance;
+
+        private AllowanceChange(String position, double riceSubsidy, double phoneAllowance, double clothingAllowance) {
+            this.position = position;
+            this.riceSubsidy = riceSubsidy;
+            this.phoneAllowance = phoneAllowance;
+            this.clothingAllowance = clothingAllowance;
+        }
+    }
+}
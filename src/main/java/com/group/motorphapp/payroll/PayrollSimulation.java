@@ -0,0 +1,80 @@
+package com.group.motorphapp.payroll;
+
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollRegister;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The registers produced by one what-if simulation, keyed by scenario name,
+ * starting with the unchanged baseline.
+ */
+public class PayrollSimulation {
+    public static final String BASELINE = "Baseline";
+
+    private final PayPeriod payPeriod;
+    private final Map<String, PayrollRegister> registers;
+
+    PayrollSimulation(PayPeriod payPeriod, Map<String, PayrollRegister> registers) {
+        this.payPeriod = payPeriod;
+        this.registers = new LinkedHashMap<>(registers);
+    }
+
+    public PayPeriod getPayPeriod() {
+        return payPeriod;
+    }
+
+    // Scenario names in the order they were given, baseline first
+    public Set<String> getScenarioNames() {
+        return Collections.unmodifiableSet(registers.keySet());
+    }
+
+    public PayrollRegister getRegister(String scenarioName) {
+        return registers.get(scenarioName);
+    }
+
+    public PayrollRegister getBaseline() {
+        return registers.get(BASELINE);
+    }
+
+    /**
+     * Gets how much a scenario changes the total company cost
+     * @param scenarioName The scenario to compare with the baseline
+     * @return Scenario gross pay plus allowances minus the baseline's
+     */
+    public double getCostChange(String scenarioName) {
+        return totalCost(registers.get(scenarioName)) - totalCost(getBaseline());
+    }
+
+    /**
+     * Formats the totals of every scenario side by side
+     * @return One line per scenario under a header line
+     */
+    public String getComparison() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("What-if payroll %s%n", payPeriod));
+        table.append(String.format("%-28s %15s %13s %11s %11s %10s %13s %15s %14s%n",
+                "Scenario", "Basic Pay", "Allowances", "SSS", "PhilHealth", "Pag-IBIG", "Tax", "Net Pay", "Cost Change"));
+        for (Map.Entry<String, PayrollRegister> entry : registers.entrySet()) {
+            PayrollRegister register = entry.getValue();
+            table.append(String.format("%-28s %15.2f %13.2f %11.2f %11.2f %10.2f %13.2f %15.2f %+14.2f%n",
+                    entry.getKey(),
+                    register.getTotalGrossPay(),
+                    register.getTotalAllowances(),
+                    register.getTotalSss(),
+                    register.getTotalPhilhealth(),
+                    register.getTotalPagibig(),
+                    register.getTotalWithholdingTax(),
+                    register.getTotalNetPay(),
+                    getCostChange(entry.getKey())));
+        }
+        return table.toString();
+    }
+
+    private static double totalCost(PayrollRegister register) {
+        return register.getTotalGrossPay() + register.getTotalAllowances();
+    }
+}
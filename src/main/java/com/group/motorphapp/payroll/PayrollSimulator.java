@@ -0,0 +1,116 @@
+package com.group.motorphapp.payroll;
+
+import com.group.motorphapp.calculator.AttendanceColumns;
+import com.group.motorphapp.calculator.DeductionRuleRegistry;
+import com.group.motorphapp.calculator.DeductionRuleSet;
+import com.group.motorphapp.calculator.GrossPayKernel;
+import com.group.motorphapp.model.Employee;
+import com.group.motorphapp.model.PayPeriod;
+import com.group.motorphapp.model.PayrollCalculator;
+import com.group.motorphapp.model.PayrollEntry;
+import com.group.motorphapp.model.PayrollRegister;
+import com.group.motorphapp.model.PayrollSystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates what-if scenarios against one pay period of real attendance.
+ * Basic pay is computed once per employee and shared by every scenario;
+ * the scenarios are then evaluated in parallel on copies of the employees,
+ * so the PayrollSystem and the data files are never changed.
+ */
+public class PayrollSimulator {
+    private final PayrollSystem payrollSystem;
+    private final PayrollCalculator calculator;
+    // Shared by every simulation of this simulator; idle workers exit on their own
+    private final ForkJoinPool pool;
+
+    public PayrollSimulator(PayrollSystem payrollSystem) {
+        this(payrollSystem, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PayrollSimulator(PayrollSystem payrollSystem, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.payrollSystem = payrollSystem;
+        this.calculator = new PayrollCalculator();
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Runs the baseline and every scenario for a pay period
+     * @param payPeriod The pay period whose attendance is used
+     * @param scenarios The scenarios to evaluate; names must be unique
+     * @return The side-by-side results, baseline first
+     */
+    public PayrollSimulation simulate(PayPeriod payPeriod, List<PayrollScenario> scenarios) {
+        Set<String> names = new HashSet<>();
+        names.add(PayrollSimulation.BASELINE);
+        for (PayrollScenario scenario : scenarios) {
+            if (!names.add(scenario.getName())) {
+                throw new IllegalArgumentException("Duplicate scenario name: " + scenario.getName());
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>(payrollSystem.getAllEmployees());
+        int employeeCount = employees.size();
+        List<PayrollScenario> all = new ArrayList<>();
+        all.add(new PayrollScenario(PayrollSimulation.BASELINE));
+        all.addAll(scenarios);
+
+        long start = System.nanoTime();
+        double[] basicPay = GrossPayKernel.computeGrossPay(AttendanceColumns.build(employees, payrollSystem, payPeriod));
+        DeductionRuleSet periodRules = DeductionRuleRegistry.forPeriod(payPeriod);
+        DeductionRuleSet[] rules = new DeductionRuleSet[all.size()];
+        for (int s = 0; s < rules.length; s++) {
+            rules[s] = all.get(s).adjustRules(periodRules);
+        }
+
+        // Slot s * employees + i holds employee i under scenario s
+        PayrollEntry[] entries = new PayrollEntry[all.size() * employeeCount];
+        PayrollRunEngine.runInPool(pool, () -> IntStream.range(0, entries.length).parallel().forEach(slot -> {
+            int s = slot / employeeCount;
+            int i = slot % employeeCount;
+            entries[slot] = computeEntry(all.get(s), rules[s], employees.get(i), payPeriod, basicPay[i]);
+        }));
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, PayrollRegister> registers = new LinkedHashMap<>();
+        for (int s = 0; s < all.size(); s++) {
+            int from = s * employeeCount;
+            registers.put(all.get(s).getName(), new PayrollRegister(payPeriod,
+                    Arrays.asList(entries).subList(from, from + employeeCount), elapsed));
+        }
+        return new PayrollSimulation(payPeriod, registers);
+    }
+
+    private PayrollEntry computeEntry(PayrollScenario scenario, DeductionRuleSet rules, Employee employee,
+                                      PayPeriod payPeriod, double basicPay) {
+        double grossPay = basicPay * scenario.salaryFactor(employee);
+        Employee adjusted = scenario.adjust(employee);
+        DoubleUnaryOperator sssRule = scenario.getSssRule();
+        DoubleUnaryOperator taxRule = scenario.getWithholdingTaxRule();
+        if (sssRule == null && taxRule == null) {
+            return calculator.calculatePayroll(adjusted, payPeriod, grossPay, rules);
+        }
+
+        // Same steps as PayrollCalculator.calculatePayroll with the overridden tables
+        double sss = sssRule != null ? sssRule.applyAsDouble(grossPay) : calculator.calculateSSSContribution(grossPay);
+        double philHealth = rules.calculatePhilhealthContribution(grossPay);
+        double pagIbig = rules.calculatePagibigContribution(grossPay);
+        double taxableIncome = grossPay - (sss + philHealth + pagIbig);
+        double withholdingTax = taxRule != null
+                ? taxRule.applyAsDouble(taxableIncome) : calculator.calculateWithholdingTax(taxableIncome);
+        return new PayrollEntry(adjusted, payPeriod, grossPay, sss, philHealth, pagIbig, withholdingTax);
+    }
+}